@@ -6,6 +6,8 @@ import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.PolygonBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector3;
 
 import space.earlygrey.shapedrawer.FilledPolygonDrawer.BatchFilledPolygonDrawer;
 import space.earlygrey.shapedrawer.FilledPolygonDrawer.PolygonBatchFilledPolygonDrawer;
@@ -25,10 +27,17 @@ public abstract class AbstractShapeDrawer {
     final BatchManager batchManager;
     float defaultLineWidth = 1;
     boolean defaultSnap = false;
-
-
-    protected static final Matrix4 mat4 = new Matrix4();
-    protected static final float[] trianglePathPoints = new float[6];
+    float mitreLimit = Float.POSITIVE_INFINITY;
+    CapType capType = CapType.FLAT;
+    float dotRadius = 0;
+    boolean culling = false;
+    //the area outside which shapes are not drawn when culling, which is everything until it is set
+    float cullMinX = Float.NEGATIVE_INFINITY, cullMinY = Float.NEGATIVE_INFINITY;
+    float cullMaxX = Float.POSITIVE_INFINITY, cullMaxY = Float.POSITIVE_INFINITY;
+
+    protected final Matrix4 mat4 = new Matrix4(), inverseTransform = new Matrix4();
+    protected final Vector3 vec3 = new Vector3();
+    protected final float[] trianglePathPoints = new float[6];
 
     protected final LineDrawer lineDrawer;
     protected final PathDrawer pathDrawer;
@@ -38,6 +47,9 @@ public abstract class AbstractShapeDrawer {
 
     private SideEstimator sideEstimator;
 
+    final UnitCircleCache unitCircleCache = new UnitCircleCache();
+    final TriangulationCache triangulationCache = new TriangulationCache(new DefaultTriangulator());
+
 
     //================================================================================
     // CONSTRUCTOR
@@ -51,12 +63,16 @@ public abstract class AbstractShapeDrawer {
      */
 
     AbstractShapeDrawer(Batch batch, TextureRegion region, SideEstimator sideEstimator) {
+        this(batch, region, sideEstimator, BatchManager.DEFAULT_VERTEX_CAPACITY);
+    }
+
+    AbstractShapeDrawer(Batch batch, TextureRegion region, SideEstimator sideEstimator, int vertexCapacity) {
         if (batch instanceof PolygonBatch) {
-            PolygonBatchManager manager = new PolygonBatchManager((PolygonBatch) batch, region);
+            PolygonBatchManager manager = new PolygonBatchManager((PolygonBatch) batch, region, vertexCapacity);
             filledPolygonDrawer = new PolygonBatchFilledPolygonDrawer(manager, this);
             batchManager = manager;
         } else {
-            batchManager = new BatchManager(batch, region);
+            batchManager = new BatchManager(batch, region, vertexCapacity);
             filledPolygonDrawer = new BatchFilledPolygonDrawer(batchManager, this);
         }
 
@@ -75,6 +91,17 @@ public abstract class AbstractShapeDrawer {
         batchManager.startRecording();
     }
 
+    /**
+     * <p>Starts recording into a {@link Drawing} previously returned by {@link #stopRecording()}, replacing what it
+     * contains. Its arrays are reused, so a drawing that is recorded again every frame doesn't allocate once it has
+     * reached its largest size.</p>
+     *
+     * @param drawing a drawing recorded by this ShapeDrawer
+     */
+    public void startRecording(Drawing drawing) {
+        batchManager.startRecording(drawing);
+    }
+
     /**
      * Stops recording and returns a {@link Drawing}, which can be saved and drawn at any time
      * without having to perform shape calculations.
@@ -83,6 +110,41 @@ public abstract class AbstractShapeDrawer {
         return batchManager.stopRecording();
     }
 
+    /**
+     * @return whether what is drawn is being recorded into a {@link Drawing}, see {@link #startRecording()}
+     */
+    public boolean isRecording() {
+        return batchManager.isRecording();
+    }
+
+    /**
+     * <p>Draws a {@link Drawing} with its current offset and scale, after sending anything this ShapeDrawer has drawn but
+     * not yet sent to the batch, so that the drawing goes on top of it. The drawing may have been recorded by another
+     * ShapeDrawer, as long as it has finished recording. {@link Drawing#draw()} doesn't send anything first, since the
+     * ShapeDrawer that recorded it may be in use on another thread.</p>
+     *
+     * @param drawing a drawing returned by {@link #stopRecording()}
+     */
+    public void draw(Drawing drawing) {
+        batchManager.pushToBatch();
+        drawing.draw();
+    }
+
+
+    /**
+     * <p>Makes sure that there is room in the vertex cache for the given number of vertices and triangles, so that a
+     * large shape or group of shapes drawn afterwards is not split between draw calls or interrupted by the cache growing.
+     * This sends the cached vertices to the Batch now if there is not enough room left, and grows the cache now if it
+     * is too small, up to the maximum capacity (see {@link #setMaxVertexCapacity(int)}).</p>
+     * <p>The reservation is only a guarantee until something is drawn, and applies to the total of the shapes drawn
+     * afterwards. When not using a PolygonBatch every triangle is drawn as a quad, so takes up the space of four vertices.</p>
+     *
+     * @param vertices  the number of vertices
+     * @param triangles the number of triangles
+     */
+    public void reserve(int vertices, int triangles) {
+        batchManager.reserve(vertices, triangles);
+    }
 
     //================================================================================
     // UPDATE METHODS
@@ -100,13 +162,14 @@ public abstract class AbstractShapeDrawer {
 
     /**
      * <p>Call this when the batch projection or transformation matrices are changed.
-     * Currently just calculates and updates the pixel size (see {@link #updatePixelSize()},
-     * and only if {@code updatePixelSize} is set to true.</p>
+     * Calculates and updates the pixel size (see {@link #updatePixelSize()}, but only if {@code updatePixelSize}
+     * is set to true, and the cull bounds (see {@link #updateCullBounds()}) if culling is enabled.</p>
      *
      * @param updatePixelSize whether to call {@link #updatePixelSize()}
      */
     public void update(boolean updatePixelSize) {
         if (updatePixelSize) updatePixelSize();
+        if (culling) updateCullBounds();
     }
 
     /**
@@ -127,6 +190,29 @@ public abstract class AbstractShapeDrawer {
         return setPixelSize(newPixelSize);
     }
 
+    /**
+     * <p>This uses the current projection and transformation matrices of the Batch to calculate the area of the world
+     * that is on the screen, in the coordinates that shapes are drawn in, and sets the cull bounds to it. If the view is
+     * rotated, the bounds are the smallest rectangle containing it. This is called by {@link #update()} when culling is
+     * enabled, see {@link #setCulling(boolean)}.</p>
+     * <p>NOTE: this only works when the projection is orthographic!</p>
+     */
+    public void updateCullBounds() {
+        mat4.set(getBatch().getProjectionMatrix()).inv();
+        inverseTransform.set(getBatch().getTransformMatrix()).inv();
+        float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY;
+        //the corners of the screen in normalised device coordinates, taken back to the world and then to the drawer
+        for (int i = 0; i < 4; i++) {
+            vec3.set(i < 2 ? -1 : 1, (i & 1) == 0 ? -1 : 1, 0).prj(mat4).prj(inverseTransform);
+            minX = Math.min(minX, vec3.x);
+            maxX = Math.max(maxX, vec3.x);
+            minY = Math.min(minY, vec3.y);
+            maxY = Math.max(maxY, vec3.y);
+        }
+        setCullBounds(minX, minY, maxX - minX, maxY - minY);
+    }
+
     //================================================================================
     // HELPERS
     //================================================================================
@@ -150,10 +236,48 @@ public abstract class AbstractShapeDrawer {
         return isJoinNecessary(getDefaultLineWidth());
     }
 
+    /**
+     * @return whether culling is enabled and the rectangle from (minX, minY) to (maxX, maxY) is outside the cull bounds
+     */
+    public boolean isCulled(float minX, float minY, float maxX, float maxY) {
+        return culling && (maxX < cullMinX || minX > cullMaxX || maxY < cullMinY || minY > cullMaxY);
+    }
+
+    /**
+     * @return whether culling is enabled and the circle is outside the cull bounds
+     */
+    boolean isCulled(float centreX, float centreY, float radius) {
+        return isCulled(centreX - radius, centreY - radius, centreX + radius, centreY + radius);
+    }
+
+    /**
+     * <p>Returns whether culling is enabled and the points from {@code start} to {@code end} of {@code points}, transformed
+     * by the offset and scale and then padded on every side by {@code pad}, are outside the cull bounds.</p>
+     */
+    boolean isCulled(float[] points, int start, int end, float offsetX, float offsetY, float scaleX, float scaleY, float pad) {
+        if (!culling) return false;
+        float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY;
+        for (int i = start; i < end - 1; i += 2) {
+            float x = points[i], y = points[i + 1];
+            if (x < minX) minX = x;
+            if (x > maxX) maxX = x;
+            if (y < minY) minY = y;
+            if (y > maxY) maxY = y;
+        }
+        float x1 = offsetX + scaleX * minX, x2 = offsetX + scaleX * maxX;
+        float y1 = offsetY + scaleY * minY, y2 = offsetY + scaleY * maxY;
+        return isCulled(Math.min(x1, x2) - pad, Math.min(y1, y2) - pad, Math.max(x1, x2) + pad, Math.max(y1, y2) + pad);
+    }
+
     protected int estimateSidesRequired(float radiusX, float radiusY) {
         return sideEstimator.estimateSidesRequired(getPixelSize(), radiusX, radiusY);
     }
 
+    protected int estimateSidesRequired(float radiusX, float radiusY, float lineWidth) {
+        return sideEstimator.estimateSidesRequired(getPixelSize(), radiusX, radiusY, lineWidth);
+    }
+
     //================================================================================
     // GETTERS AND SETTERS
     //================================================================================
@@ -178,6 +302,27 @@ public abstract class AbstractShapeDrawer {
         return oldSideEstimator;
     }
 
+    /**
+     * @return the current {@link Triangulator}
+     */
+    public final Triangulator getTriangulator() {
+        return triangulationCache.getTriangulator();
+    }
+
+    /**
+     * <p>Sets a new {@link Triangulator}, used for filled polygons drawn without triangles, and returns the old
+     * {@link Triangulator}. The default is a {@link DefaultTriangulator}. A {@link MonotoneTriangulator} is much faster for
+     * large concave polygons.</p>
+     *
+     * @param triangulator
+     * @return the old {@link Triangulator}
+     */
+    public Triangulator setTriangulator(Triangulator triangulator) {
+        final Triangulator oldTriangulator = triangulationCache.getTriangulator();
+        triangulationCache.setTriangulator(triangulator);
+        return oldTriangulator;
+    }
+
     /**
      * <p>This is used internally to make estimates about how things will appear on screen. It affects
      * line endpoint snapping (see {@link ShapeDrawer#line(float, float, float, float, float, boolean)}) and
@@ -205,6 +350,37 @@ public abstract class AbstractShapeDrawer {
         return batchManager.getBatch();
     }
 
+    /**
+     * @return the number of vertices that the vertex cache can hold before it is sent to the Batch
+     */
+    public int getVertexCapacity() {
+        return batchManager.getVertexCapacity();
+    }
+
+    /**
+     * @return the maximum number of vertices the vertex cache is allowed to grow to
+     */
+    public int getMaxVertexCapacity() {
+        return batchManager.getMaxVertexCapacity();
+    }
+
+    /**
+     * <p>Sets the maximum number of vertices the vertex cache is allowed to grow to. The cache is never shrunk, so this
+     * should be set before drawing, or at least before anything large. The default is as large as possible, which is
+     * as many vertices as fit in an array.</p>
+     * <p>With a PolygonBatch the maximum, and the default, is 32767, because triangles are indexed with shorts, and
+     * larger values are clamped to it. As the cache is sent to the batch in one call, it should also be no more than the
+     * size the PolygonBatch was created with, which is 2000 vertices for a PolygonSpriteBatch by default. Filled
+     * polygons drawn with a PolygonBatch need all their vertices to fit in the cache at once, so an exception is thrown
+     * if one needs more than this.</p>
+     *
+     * @param maxVertexCapacity the maximum number of vertices
+     * @return the previous maximum
+     */
+    public int setMaxVertexCapacity(int maxVertexCapacity) {
+        return batchManager.setMaxVertexCapacity(maxVertexCapacity);
+    }
+
     /**
      * @return the current TextureRegion used for drawing
      */
@@ -250,6 +426,122 @@ public abstract class AbstractShapeDrawer {
         return oldSnap;
     }
 
+    /**
+     * @return the mitre limit, see {@link #setMitreLimit(float)}
+     */
+    public float getMitreLimit() {
+        return mitreLimit;
+    }
+
+    /**
+     * <p>Sets the mitre limit. This is the maximum ratio of the length of the mitre (the distance between the inside and
+     * outside corners of the join) to the line width. {@link JoinType#POINTY} joins that would exceed it are bevelled
+     * instead, using the same geometry as {@link JoinType#SMOOTH}. At joins of any type that exceed it, the inside corner
+     * isn't used either: each line ends square at the join, the two lines overlap on the inside, and the outside is closed
+     * by the bevel or rounded fill. This stops sharp angles, such as where a path nearly doubles back on itself,
+     * producing very long spikes.</p>
+     *
+     * <p>The ratio for two lines meeting at an angle a is 1/sin(a/2), so for example a limit of 2 bevels joins sharper
+     * than 60 degrees. The default is {@link Float#POSITIVE_INFINITY}, meaning only paths that turn exactly back on
+     * themselves are treated this way.</p>
+     *
+     * @param mitreLimit the maximum ratio of mitre length to line width, which must be at least 1
+     * @return the previous mitre limit
+     */
+    public float setMitreLimit(float mitreLimit) {
+        if (!(mitreLimit >= 1)) throw new IllegalArgumentException("The mitre limit must be at least 1, was " + mitreLimit);
+        float oldLimit = this.mitreLimit;
+        this.mitreLimit = mitreLimit;
+        return oldLimit;
+    }
+
+    /**
+     * @return the type of cap drawn at the ends of open paths
+     */
+    public CapType getCapType() {
+        return capType;
+    }
+
+    /**
+     * <p>Sets the type of cap drawn at the ends of open paths, see {@link CapType}. Closed paths and other shapes are not affected.</p>
+     *
+     * @param capType the cap type
+     * @return the previous cap type
+     */
+    public CapType setCapType(CapType capType) {
+        CapType oldCapType = this.capType;
+        this.capType = capType;
+        return oldCapType;
+    }
+
+    /**
+     * @return the radius in pixels at or below which filled circles and ellipses are drawn as dots
+     */
+    public float getDotRadius() {
+        return dotRadius;
+    }
+
+    /**
+     * <p>Sets the radius in pixels at or below which filled circles and ellipses of a single colour are drawn as dots. Dots
+     * are drawn with a fixed small number of vertices instead of the number estimated by the {@link SideEstimator}: a single
+     * quad for sub-pixel dots, otherwise an octagon. This is useful when drawing large numbers of very small circles, such as
+     * points on a scatter plot. The default is 0, which disables dots.</p>
+     *
+     * @param dotRadius the radius in pixels, for example 2 or 3
+     * @return the previous dot radius
+     */
+    public float setDotRadius(float dotRadius) {
+        float oldDotRadius = this.dotRadius;
+        this.dotRadius = dotRadius;
+        return oldDotRadius;
+    }
+
+    /**
+     * @return whether shapes outside the cull bounds are skipped
+     */
+    public boolean isCulling() {
+        return culling;
+    }
+
+    /**
+     * <p>Sets whether shapes that are entirely outside the cull bounds are skipped. Each shape is tested against the
+     * bounds using a rectangle or circle containing it, including its line width, joins and caps, before any of its
+     * vertices are calculated. This is useful when most of what is drawn is off the screen, such as a zoomed in map.
+     * The default is false.</p>
+     * <p>When culling is enabled, {@link #update()} sets the bounds to the area on the screen, otherwise they can be set
+     * with {@link #setCullBounds(float, float, float, float)}. Until either is called nothing is culled. Shapes drawn
+     * while recording a {@link Drawing} are culled too, so if the drawing is going to be drawn with a different view,
+     * culling should be disabled while recording it.</p>
+     *
+     * @param culling whether to cull
+     * @return the previous setting
+     */
+    public boolean setCulling(boolean culling) {
+        boolean oldCulling = this.culling;
+        this.culling = culling;
+        return oldCulling;
+    }
+
+    /**
+     * <p>Sets {@code bounds} to the area outside which shapes are skipped when culling is enabled.</p>
+     *
+     * @return {@code bounds}
+     */
+    public Rectangle getCullBounds(Rectangle bounds) {
+        return bounds.set(cullMinX, cullMinY, cullMaxX - cullMinX, cullMaxY - cullMinY);
+    }
+
+    /**
+     * <p>Sets the area outside which shapes are skipped when culling is enabled, in the coordinates that shapes are drawn
+     * in. This is replaced when {@link #update()} is called with culling enabled.</p>
+     */
+    public void setCullBounds(float x, float y, float width, float height) {
+        cullMinX = x;
+        cullMinY = y;
+        cullMaxX = x + width;
+        cullMaxY = y + height;
+    }
+
     /**
      * <p>Sets the TextureRegion used to draw.</p>
      *
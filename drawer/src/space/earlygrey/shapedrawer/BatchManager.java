@@ -29,18 +29,27 @@ class BatchManager {
     protected float pixelSize = 1, halfPixelSize = 0.5f * pixelSize;
     protected float offset = ShapeUtils.EPSILON * pixelSize;
     protected boolean cacheDraws = false;
+    protected int maxVertexCapacity;
 
-    protected static final Matrix4 mat4 = new Matrix4();
+    protected final Matrix4 mat4 = new Matrix4();
 
     Drawing drawing = null;
 
     // These are named just for clarity
     static final int DEFAULT_VERTEX_CACHE_SIZE = 2000;
     static final int VERTEX_SIZE = 5, QUAD_PUSH_SIZE = 4 * VERTEX_SIZE;
+    static final int DEFAULT_VERTEX_CAPACITY = DEFAULT_VERTEX_CACHE_SIZE / VERTEX_SIZE;
 
     BatchManager (Batch batch, TextureRegion region) {
+        this(batch, region, DEFAULT_VERTEX_CAPACITY);
+    }
+
+    BatchManager (Batch batch, TextureRegion region, int vertexCapacity) {
+        if (vertexCapacity < 4) throw new IllegalArgumentException("The vertex capacity must be at least 4, was " + vertexCapacity);
+        if (vertexCapacity > getVertexCapacityLimit()) throw new IllegalArgumentException("The vertex capacity must be at most " + getVertexCapacityLimit() + ", was " + vertexCapacity);
         this.batch = batch;
-        verts = new float[DEFAULT_VERTEX_CACHE_SIZE];
+        maxVertexCapacity = getVertexCapacityLimit();
+        verts = new float[vertexCapacity * VERTEX_SIZE];
         setTextureRegion(region);
         setColor(Color.WHITE);
     }
@@ -152,10 +161,20 @@ class BatchManager {
     // RECORDING
     //================================================================================
 
+    //anything drawn before recording starts is sent to the batch, so that it isn't recorded
+
     void startRecording() {
+        pushToBatch();
         drawing = createDrawing();
     }
 
+    void startRecording(Drawing drawing) {
+        if (drawing.batchManager != this) throw new IllegalArgumentException("The drawing was recorded by a different ShapeDrawer");
+        pushToBatch();
+        drawing.reset();
+        this.drawing = drawing;
+    }
+
     Drawing createDrawing() {
         return new Drawing(this);
     }
@@ -195,8 +214,10 @@ class BatchManager {
      * @return whether the vertex data was pushed to the Batch
      */
     void pushTriangle() {
+        //the fourth vertex is a copy of the third, colour included so that nothing left in the cache is sent
         x4(x3());
         y4(y3());
+        color4(verts[getVerticesArrayIndex() + SpriteBatch.C3]);
         pushQuad();
     }
 
@@ -207,7 +228,11 @@ class BatchManager {
         ensureSpace(4);
     }
     void ensureSpace(int vertices) {
-        if (vertices * VERTEX_SIZE > verts.length) {
+        //compared in vertices rather than floats so that large requests can't overflow
+        if (vertices > verts.length / VERTEX_SIZE) {
+            if (vertices > maxVertexCapacity) {
+                throw new IllegalStateException("Drawing this shape requires " + vertices + " vertices, but the maximum vertex capacity is " + maxVertexCapacity);
+            }
             increaseCacheSize(vertices * VERTEX_SIZE);
         } else if (verticesRemaining() < vertices) {
             pushToBatch();
@@ -215,18 +240,49 @@ class BatchManager {
 
     }
 
+    /**
+     * <p>Makes sure that the given number of vertices and triangles can be pushed without the cache being sent to the
+     * Batch or resized, resizing or sending it now if necessary. Each triangle takes up the space of a quad.
+     * If this would need more than the maximum capacity, only the maximum capacity is reserved.</p>
+     */
+    void reserve(int vertices, int triangles) {
+        ensureSpace((int) Math.min(Math.max(vertices, 4L * triangles), maxVertexCapacity));
+    }
+
     void increaseCacheSize(int minSize) {
         pushToBatch();
-        int newSize = verts.length;
+        long newSize = verts.length;
         while (minSize > newSize) {
             newSize *= 2;
         }
-        verts = new float[newSize];
+        if (newSize / VERTEX_SIZE > maxVertexCapacity) newSize = Math.max(minSize, (long) maxVertexCapacity * VERTEX_SIZE);
+        verts = new float[(int) newSize];
         setTextureRegionUV();
     }
 
+    int getVertexCapacity() {
+        return verts.length / VERTEX_SIZE;
+    }
+
+    int getMaxVertexCapacity() {
+        return maxVertexCapacity;
+    }
+
+    int setMaxVertexCapacity(int maxVertexCapacity) {
+        int oldMaxVertexCapacity = this.maxVertexCapacity;
+        this.maxVertexCapacity = Math.min(maxVertexCapacity, getVertexCapacityLimit());
+        return oldMaxVertexCapacity;
+    }
+
+    /**
+     * @return the most vertices the cache can ever hold, which is as many as fit in an array
+     */
+    int getVertexCapacityLimit() {
+        return Integer.MAX_VALUE / VERTEX_SIZE;
+    }
+
     int verticesRemaining() {
-        return (verts.length - QUAD_PUSH_SIZE * vertexCount) / VERTEX_SIZE;
+        return verts.length / VERTEX_SIZE - vertexCount;
     }
 
     /**
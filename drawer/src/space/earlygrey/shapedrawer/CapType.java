@@ -0,0 +1,21 @@
+package space.earlygrey.shapedrawer;
+
+/**
+ * The type of cap drawn at the ends of open paths
+ */
+public enum CapType {
+    /**
+     * The path ends exactly at its first and last points. This is the fastest option.
+     */
+    FLAT,
+
+    /**
+     * The path is extended past its first and last points by half the line width.
+     */
+    SQUARE,
+
+    /**
+     * A semicircle with diameter equal to the line width is drawn at the first and last points.
+     */
+    ROUND
+}
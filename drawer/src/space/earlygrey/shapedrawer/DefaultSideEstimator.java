@@ -48,6 +48,19 @@ public class DefaultSideEstimator implements SideEstimator {
 		return MathUtils.clamp(sides, minimumSides, maximumSides);
 	}
 
+	/**
+	 * <p>Uses the number of segments needed so that each one is no more than half a pixel from the arc, which for a
+	 * segment covering a small angle a is radius * a * a / 8. This is not bounded below by {@link #minimumSides}, so that
+	 * arcs with a radius of a few pixels, such as round joins on thin lines, only get one or two segments.</p>
+	 */
+	@Override
+	public int estimateArcSegmentsRequired(float pixelSize, float radius, float radians) {
+		float segmentAngle = (float) Math.sqrt(4 * pixelSize / radius);
+		int segments = (int) Math.ceil(radians / segmentAngle);
+		int maxSegments = (int) Math.ceil(maximumSides * radians / ShapeUtils.PI2);
+		return MathUtils.clamp(segments, 1, Math.max(1, maxSegments));
+	}
+
 	//================================================================================
 	// GETTERS AND SETTERS
 	//================================================================================
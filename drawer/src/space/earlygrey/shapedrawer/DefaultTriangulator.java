@@ -0,0 +1,141 @@
+package space.earlygrey.shapedrawer;
+
+import com.badlogic.gdx.math.EarClippingTriangulator;
+import com.badlogic.gdx.utils.ShortArray;
+
+/**
+ * <p>A {@link Triangulator} that triangulates convex polygons as a fan from the first vertex, without searching for
+ * ears, and uses an {@link EarClippingTriangulator} for all other polygons.</p>
+ */
+public class DefaultTriangulator implements Triangulator {
+
+	//================================================================================
+	// MEMBERS
+	//================================================================================
+
+	protected final ShortArray triangles = new ShortArray();
+
+	private final EarClippingTriangulator earClippingTriangulator = new EarClippingTriangulator();
+	private float[] offsetVertices = new float[0];
+	//the index in the polygon of each vertex passed to ear clipping, when repeated vertices are left out
+	private int[] kept = new int[0];
+
+	//================================================================================
+	// HELPERS
+	//================================================================================
+
+	@Override
+	public ShortArray computeTriangles(float[] vertices, int offset, int count) {
+		if (isConvex(vertices, offset, count)) return computeFan(count / 2);
+		return computeConcaveTriangles(vertices, offset, count);
+	}
+
+	/**
+	 * Triangulates a polygon that is not convex, by ear clipping.
+	 */
+	protected ShortArray computeConcaveTriangles(float[] vertices, int offset, int count) {
+		if (hasRepeatedVertices(vertices, offset, count)) return computeWithoutRepeatedVertices(vertices, offset, count);
+		if (offset == 0) return earClippingTriangulator.computeTriangles(vertices, 0, count);
+		//ear clipping numbers the vertices from the start of the array and assumes the offset is even, so the polygon
+		//is copied to the start of another array
+		if (offsetVertices.length < count) offsetVertices = new float[count];
+		System.arraycopy(vertices, offset, offsetVertices, 0, count);
+		return earClippingTriangulator.computeTriangles(offsetVertices, 0, count);
+	}
+
+	private static boolean hasRepeatedVertices(float[] vertices, int offset, int count) {
+		for (int i = offset, j = offset + count - 2; i < offset + count; j = i, i += 2) {
+			if (vertices[i] == vertices[j] && vertices[i + 1] == vertices[j + 1]) return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Ear clipping gives overlapping triangles for a vertex that is the same as the one before it, so those are left
+	 * out, and each is given a triangle of no area with the vertex it repeats so that there are still n - 2 triangles.
+	 */
+	private ShortArray computeWithoutRepeatedVertices(float[] vertices, int offset, int count) {
+		int n = count / 2;
+		if (offsetVertices.length < count) offsetVertices = new float[count];
+		if (kept.length < n) kept = new int[n];
+		int m = 0;
+		for (int i = 0; i < n; i++) {
+			float x = vertices[offset + 2 * i], y = vertices[offset + 2 * i + 1];
+			if (m > 0 && x == offsetVertices[2 * m - 2] && y == offsetVertices[2 * m - 1]) continue;
+			offsetVertices[2 * m] = x;
+			offsetVertices[2 * m + 1] = y;
+			kept[m++] = i;
+		}
+		while (m > 1 && offsetVertices[0] == offsetVertices[2 * m - 2] && offsetVertices[1] == offsetVertices[2 * m - 1]) m--;
+		if (m < 3) return computeFan(n);
+
+		ShortArray clipped = earClippingTriangulator.computeTriangles(offsetVertices, 0, 2 * m);
+		triangles.clear();
+		triangles.ensureCapacity(3 * (n - 2));
+		for (int i = 0; i < clipped.size; i++) {
+			triangles.add((short) kept[clipped.get(i)]);
+		}
+		//every vertex left out is between two kept vertices in the polygon, and is at the same point as the one before it
+		for (int i = 1, k = 1; i < n; i++) {
+			if (k < m && kept[k] == i) {
+				k++;
+			} else {
+				triangles.add((short) (i - 1), (short) i, (short) ((i + 1) % n));
+			}
+		}
+		return triangles;
+	}
+
+	/**
+	 * @return the triangles of a fan from the first of {@code vertexCount} vertices
+	 */
+	protected ShortArray computeFan(int vertexCount) {
+		triangles.clear();
+		triangles.ensureCapacity(3 * Math.max(0, vertexCount - 2));
+		for (int i = 1; i < vertexCount - 1; i++) {
+			triangles.add((short) 0, (short) i, (short) (i + 1));
+		}
+		return triangles;
+	}
+
+	/**
+	 * @return whether the polygon is convex, that is it turns the same way at every vertex and only winds around once
+	 */
+	public static boolean isConvex(float[] vertices, int offset, int count) {
+		int n = count / 2;
+		if (n < 3) return false;
+		int turn = 0, xSignChanges = 0, ySignChanges = 0;
+		//edges of zero length, between repeated vertices, are skipped so that the turn across them is still checked
+		float previousDx = 0, previousDy = 0;
+		for (int i = n - 1; i >= 0 && previousDx == 0 && previousDy == 0; i--) {
+			int j = offset + 2 * i, k = offset + 2 * ((i + 1) % n);
+			previousDx = vertices[k] - vertices[j];
+			previousDy = vertices[k + 1] - vertices[j + 1];
+		}
+		//the sign of the last non-zero component of each edge direction, for counting how often the direction reverses
+		float lastDx = previousDx, lastDy = previousDy;
+		for (int i = 0; i < n; i++) {
+			int j = offset + 2 * i, k = offset + 2 * ((i + 1) % n);
+			float dx = vertices[k] - vertices[j], dy = vertices[k + 1] - vertices[j + 1];
+			if (dx == 0 && dy == 0) continue;
+			float cross = previousDx * dy - previousDy * dx;
+			if (cross != 0) {
+				int sign = cross > 0 ? 1 : -1;
+				if (turn == 0) turn = sign;
+				else if (sign != turn) return false;
+			}
+			if (dx != 0) {
+				if (lastDx != 0 && (dx > 0) != (lastDx > 0)) xSignChanges++;
+				lastDx = dx;
+			}
+			if (dy != 0) {
+				if (lastDy != 0 && (dy > 0) != (lastDy > 0)) ySignChanges++;
+				lastDy = dy;
+			}
+			previousDx = dx;
+			previousDy = dy;
+		}
+		return turn != 0 && xSignChanges <= 2 && ySignChanges <= 2;
+	}
+
+}
@@ -12,8 +12,9 @@ import com.badlogic.gdx.math.Vector2;
 
 abstract class DrawerTemplate<T extends BatchManager> {
 
-    static final Vector2 A = new Vector2(), B = new Vector2(), C = new Vector2(), D = new Vector2(), E = new Vector2(), dir = new Vector2();
-    static final Vector2 vec1 = new Vector2();
+    //scratch vectors, per instance so that separate drawers can be used from separate threads
+    final Vector2 A = new Vector2(), B = new Vector2(), C = new Vector2(), D = new Vector2(), E = new Vector2(), dir = new Vector2();
+    final Vector2 vec1 = new Vector2();
 
     final AbstractShapeDrawer drawer;
     final T batchManager;
@@ -25,31 +26,33 @@ abstract class DrawerTemplate<T extends BatchManager> {
 
     /**
      * <p>Draws a trangle that fills the gap at joints when {@link JoinType#SMOOTH} join type is used.</p>
-     * @param A the point before the join
      * @param B the point at the join
-     * @param C the point after the join
+     * @param u the unit direction of the line before the join
+     * @param w the unit direction of the line after the join
      * @param D
      * @param E
+     * @param overlap whether the join exceeds the mitre limit, in which case the triangle is drawn from B instead of
+     *                from the inside point of the join
      */
-    void drawSmoothJoinFill(Vector2 A, Vector2 B, Vector2 C, Vector2 D, Vector2 E, float halfLineWidth) {
+    void drawSmoothJoinFill(Vector2 B, Vector2 u, Vector2 w, Vector2 D, Vector2 E, float halfLineWidth, boolean overlap) {
         batchManager.ensureSpaceForTriangle();
-        boolean bendsLeft = Joiner.prepareSmoothJoin(A, B, C, D, E, halfLineWidth, false);
+        boolean bendsLeft = Joiner.prepareSmoothJoin(B, u, w, D, E, halfLineWidth, false, overlap);
         vert1(bendsLeft?E:D);
-        vert2(bendsLeft?D:E);
-        bendsLeft = Joiner.prepareSmoothJoin(A, B, C, D, E, halfLineWidth, true);
+        vert2(overlap ? B : bendsLeft ? D : E);
+        bendsLeft = Joiner.prepareSmoothJoin(B, u, w, D, E, halfLineWidth, true, overlap);
         vert3(bendsLeft?E:D);
         float c = batchManager.floatBits;
         color(c,c,c);
         batchManager.pushTriangle();
     }
 
-    void drawSmoothJoinFill(Vector2 A, Vector2 B, Vector2 C, Vector2 D, Vector2 E, Vector2 offset, float cos, float sin, float halfLineWidth) {
+    void drawSmoothJoinFill(Vector2 B, Vector2 u, Vector2 w, Vector2 D, Vector2 E, Vector2 offset, float cos, float sin, float halfLineWidth, boolean overlap) {
         batchManager.ensureSpaceForTriangle();
-        boolean bendsLeft = Joiner.prepareSmoothJoin(A, B, C, D, E, halfLineWidth, false);
-        Vector2 V1 = bendsLeft?E:D, V2 = bendsLeft?D:E;
+        boolean bendsLeft = Joiner.prepareSmoothJoin(B, u, w, D, E, halfLineWidth, false, overlap);
+        Vector2 V1 = bendsLeft?E:D, V2 = overlap ? B : bendsLeft ? D : E;
         vert1(V1.x*cos-V1.y*sin  + offset.x, V1.x*sin+V1.y*cos + offset.y);
         vert2(V2.x*cos-V2.y*sin  + offset.x, V2.x*sin+V2.y*cos + offset.y);
-        bendsLeft = Joiner.prepareSmoothJoin(A, B, C, D, E, halfLineWidth, true);
+        bendsLeft = Joiner.prepareSmoothJoin(B, u, w, D, E, halfLineWidth, true, overlap);
         Vector2 V3 = bendsLeft?E:D;
         float x = V3.x*cos-V3.y*sin  + offset.x, y = V3.x*sin+V3.y*cos + offset.y;
         vert3(x, y);
@@ -59,6 +62,68 @@ abstract class DrawerTemplate<T extends BatchManager> {
     }
 
 
+    /**
+     * <p>Fills the gap at joints when {@link JoinType#ROUND} join type is used, with a fan of triangles from the inside
+     * point of the join to an arc around B. If the arc only needs one segment this is the same as
+     * {@link #drawSmoothJoinFill(Vector2, Vector2, Vector2, Vector2, Vector2, float, boolean)}. If the join exceeds the
+     * mitre limit the fan is drawn from B instead.</p>
+     */
+    void drawRoundJoinFill(Vector2 B, Vector2 u, Vector2 w, Vector2 D, Vector2 E, float halfLineWidth, boolean overlap) {
+        drawRoundJoinFill(B, u, w, D, E, Vector2.Zero, 1, 0, halfLineWidth, overlap);
+    }
+
+    void drawRoundJoinFill(Vector2 B, Vector2 u, Vector2 w, Vector2 D, Vector2 E, Vector2 offset, float cos, float sin, float halfLineWidth, boolean overlap) {
+        float angle = (float) Math.atan2(Math.abs(u.crs(w)), u.dot(w));
+        int segments = drawer.getSideEstimator().estimateArcSegmentsRequired(batchManager.pixelSize, halfLineWidth, angle);
+        if (segments <= 1) {
+            drawSmoothJoinFill(B, u, w, D, E, offset, cos, sin, halfLineWidth, overlap);
+            return;
+        }
+        boolean bendsLeft = Joiner.prepareSmoothJoin(B, u, w, D, E, halfLineWidth, false, overlap);
+        Vector2 inside = overlap ? B : bendsLeft ? D : E, outside = bendsLeft ? E : D;
+        //the arc starts perpendicular to AB on the outside, and turns towards the direction of AB
+        pushArcFan(inside.x, inside.y, B.x, B.y, outside.x - B.x, outside.y - B.y, halfLineWidth * u.x, halfLineWidth * u.y,
+                angle, segments, offset, cos, sin);
+    }
+
+    /**
+     * <p>Pushes a fan of triangles from the point (fanX, fanY) to the arc of points centre + cos(t) * a + sin(t) * b, for t from 0
+     * to {@code radians}. Pairs of triangles are pushed as a single quad. Each point is then rotated by (cos, sin) and
+     * translated by offset.</p>
+     */
+    void pushArcFan(float fanX, float fanY, float centreX, float centreY, float ax, float ay, float bx, float by,
+                    float radians, int segments, Vector2 offset, float cos, float sin) {
+        float c = batchManager.floatBits;
+        float stepCos = (float) Math.cos(radians / segments), stepSin = (float) Math.sin(radians / segments);
+        float t1 = 1, t2 = 0;
+        float fx = fanX * cos - fanY * sin + offset.x, fy = fanX * sin + fanY * cos + offset.y;
+        float px = centreX + ax, py = centreY + ay;
+        for (int i = 0; i < segments; i += 2) {
+            batchManager.ensureSpaceForQuad();
+            vert1(fx, fy);
+            vert2(px * cos - py * sin + offset.x, px * sin + py * cos + offset.y);
+            float t = t1 * stepCos - t2 * stepSin;
+            t2 = t1 * stepSin + t2 * stepCos;
+            t1 = t;
+            px = centreX + t1 * ax + t2 * bx;
+            py = centreY + t1 * ay + t2 * by;
+            vert3(px * cos - py * sin + offset.x, px * sin + py * cos + offset.y);
+            if (i + 1 < segments) {
+                t = t1 * stepCos - t2 * stepSin;
+                t2 = t1 * stepSin + t2 * stepCos;
+                t1 = t;
+                px = centreX + t1 * ax + t2 * bx;
+                py = centreY + t1 * ay + t2 * by;
+                vert4(px * cos - py * sin + offset.x, px * sin + py * cos + offset.y);
+                color(c, c, c, c);
+                batchManager.pushQuad();
+            } else {
+                color(c, c, c);
+                batchManager.pushTriangle();
+            }
+        }
+    }
+
     //VERTEX SETTING UTILITY FUNCTIONS
     void x1(float x1){batchManager.x1(x1);}
     void y1(float y1){batchManager.y1(y1);}
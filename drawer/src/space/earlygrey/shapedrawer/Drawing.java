@@ -2,6 +2,7 @@ package space.earlygrey.shapedrawer;
 
 import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.utils.Array;
 
 /**
@@ -13,6 +14,8 @@ public class Drawing {
 
     BatchManager batchManager;
     Array<float[]> vertexBatches;
+    //arrays from before the drawing was last reset, reused when recording again
+    final Array<float[]> freeVertexBatches = new Array<>();
 
     private float[] tmpVertices;
 
@@ -33,6 +36,8 @@ public class Drawing {
 
     /**
      * Draw the cached shapes to the screen. Must be used in between {@link Batch#begin()} and {@link Batch#end()}.
+     * Nothing else is sent to the batch first, see {@link AbstractShapeDrawer#draw(Drawing)}, so this only touches the
+     * batch and can be called on a different thread to the ShapeDrawer that recorded it.
      */
     public void draw(float x, float y, float scaleX, float scaleY) {
         if (batchManager.r == null) throw new IllegalStateException("The texture region is null. Please set a texture region first (e.g. in the constructor or by calling setTextureRegion(TextureRegion region))");
@@ -43,13 +48,29 @@ public class Drawing {
     }
 
     void pushVertices(float[] vertices, int count) {
-        float[] copy = new float[count];
+        float[] copy = obtainVertices(count);
         System.arraycopy(vertices, 0, copy, 0, count);
         vertexBatches.add(copy);
     }
 
+    private float[] obtainVertices(int count) {
+        for (int i = freeVertexBatches.size - 1; i >= 0; i--) {
+            if (freeVertexBatches.get(i).length == count) return freeVertexBatches.removeIndex(i);
+        }
+        return new float[count];
+    }
+
+    /**
+     * <p>Removes everything recorded, keeping the arrays so that recording again doesn't allocate.</p>
+     */
+    void reset() {
+        freeVertexBatches.addAll(vertexBatches);
+        vertexBatches.clear();
+    }
+
     void finalise() {
         vertexBatches.setSize(vertexBatches.size);
+        freeVertexBatches.clear();
         int max = 0;
         for (int i = 0; i < vertexBatches.size; i++) {
             float[] vertices = vertexBatches.get(i);
@@ -57,7 +78,7 @@ public class Drawing {
                 max = vertices.length;
             }
         }
-        tmpVertices = new float[max];
+        if (tmpVertices == null || tmpVertices.length < max) tmpVertices = new float[max];
     }
 
     float[] applyTransformation(float[] vertices, float x, float y, float scaleX, float scaleY) {
@@ -74,6 +95,29 @@ public class Drawing {
         return tmpVertices;
     }
 
+    /**
+     * <p>Sets {@code bounds} to the smallest rectangle containing the vertices of the drawing, before it is offset and
+     * scaled. An empty drawing has empty bounds at the origin.</p>
+     *
+     * @return {@code bounds}
+     */
+    public Rectangle getBounds(Rectangle bounds) {
+        float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY;
+        for (int i = 0; i < vertexBatches.size; i++) {
+            float[] vertices = vertexBatches.get(i);
+            for (int j = 0; j < vertices.length; j += BatchManager.VERTEX_SIZE) {
+                float x = vertices[j], y = vertices[j + 1];
+                if (x < minX) minX = x;
+                if (x > maxX) maxX = x;
+                if (y < minY) minY = y;
+                if (y > maxY) maxY = y;
+            }
+        }
+        if (minX > maxX) return bounds.set(0, 0, 0, 0);
+        return bounds.set(minX, minY, maxX - minX, maxY - minY);
+    }
+
     boolean needsTransforming(float x, float y, float scaleX, float scaleY) {
         return x != 0 || y != 0 || scaleX != 1 ||scaleY != 1;
     }
@@ -111,6 +155,7 @@ public class Drawing {
     static class PolygonDrawing extends Drawing {
 
         Array<short[]> triangleBatches;
+        final Array<short[]> freeTriangleBatches = new Array<>();
 
         PolygonDrawing(PolygonBatchManager batchManager) {
             super(batchManager);
@@ -120,7 +165,7 @@ public class Drawing {
         @Override
         public void draw(float x, float y, float scaleX, float scaleY) {
             if (batchManager.r == null) throw new IllegalStateException("The texture region is null. Please set a texture region first (e.g. in the constructor or by calling setTextureRegion(TextureRegion region))");
-            for (int i = 0; i < vertexBatches.size; i++) {
+                for (int i = 0; i < vertexBatches.size; i++) {
                 float[] vertices = vertexBatches.get(i);
                 short[] triangles = triangleBatches.get(i);
                 getBatchManager().getBatch().draw(batchManager.r.getTexture(), applyTransformation(vertices, x, y, scaleX, scaleY), 0, vertices.length, triangles, 0, triangles.length);
@@ -136,15 +181,30 @@ public class Drawing {
         @Override
         void pushVertices(float[] vertices, int count) {
             super.pushVertices(vertices, count);
-            short[] triangles = new short[getBatchManager().getTrianglesArrayOffset()];
+            short[] triangles = obtainTriangles(getBatchManager().getTrianglesArrayOffset());
             System.arraycopy(getBatchManager().triangles, 0, triangles, 0, triangles.length);
             triangleBatches.add(triangles);
         }
 
+        private short[] obtainTriangles(int count) {
+            for (int i = freeTriangleBatches.size - 1; i >= 0; i--) {
+                if (freeTriangleBatches.get(i).length == count) return freeTriangleBatches.removeIndex(i);
+            }
+            return new short[count];
+        }
+
+        @Override
+        void reset() {
+            super.reset();
+            freeTriangleBatches.addAll(triangleBatches);
+            triangleBatches.clear();
+        }
+
         @Override
         void finalise() {
             super.finalise();
             triangleBatches.setSize(triangleBatches.size);
+            freeTriangleBatches.clear();
         }
     }
 
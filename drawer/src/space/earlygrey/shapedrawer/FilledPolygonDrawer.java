@@ -1,6 +1,5 @@
 package space.earlygrey.shapedrawer;
 
-import com.badlogic.gdx.math.EarClippingTriangulator;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.utils.ShortArray;
 
@@ -13,7 +12,8 @@ import com.badlogic.gdx.utils.ShortArray;
 
 abstract class FilledPolygonDrawer<T extends BatchManager> extends DrawerTemplate<T> {
 
-    static final EarClippingTriangulator triangulator = new EarClippingTriangulator();
+    //scales a regular polygon inscribed in a circle to have the same area as the circle
+    static final float DOT_SCALE_4 = (float) Math.sqrt(Math.PI / 2), DOT_SCALE_8 = (float) Math.sqrt(Math.PI / (2 * Math.sqrt(2)));
 
     FilledPolygonDrawer(T batchManager, AbstractShapeDrawer drawer) {
         super(batchManager, drawer);
@@ -21,7 +21,16 @@ abstract class FilledPolygonDrawer<T extends BatchManager> extends DrawerTemplat
 
     abstract void polygon(float centreX, float centreY, int sides, float radiusX, float radiusY, float rotation, float startAngle, float radians, float innerColor, float outerColor);
 
-    abstract void polygon(float[] vertices, short[] triangles, int trianglesCount, float offsetX, float offsetY, float scaleX, float scaleY);
+    /**
+     * <p>Draws the triangles of the polygon made of {@code count} floats of {@code vertices} starting at {@code offset}.
+     * The triangle indices are relative to {@code offset}.</p>
+     */
+    abstract void polygon(float[] vertices, int offset, int count, short[] triangles, int trianglesCount, float offsetX, float offsetY, float scaleX, float scaleY);
+
+    void polygon(float[] vertices, short[] triangles, int trianglesCount, float offsetX, float offsetY, float scaleX, float scaleY) {
+        if (drawer.isCulled(vertices, 0, vertices.length, offsetX, offsetY, scaleX, scaleY, 0)) return;
+        polygon(vertices, 0, vertices.length, triangles, trianglesCount, offsetX, offsetY, scaleX, scaleY);
+    }
 
     void polygon(float[] vertices, short[] triangles, int trianglesCount) {
         polygon(vertices, triangles, trianglesCount, 0, 0, 1, 1);
@@ -32,8 +41,13 @@ abstract class FilledPolygonDrawer<T extends BatchManager> extends DrawerTemplat
     }
 
     void polygon(float[] vertices, int offset, int count) {
-        ShortArray triangles = triangulator.computeTriangles(vertices, offset, count);
-        polygon(vertices, triangles);
+        polygon(vertices, offset, count, 0, 0, 1, 1);
+    }
+
+    void polygon(float[] vertices, int offset, int count, float offsetX, float offsetY, float scaleX, float scaleY) {
+        if (drawer.isCulled(vertices, offset, offset + count, offsetX, offsetY, scaleX, scaleY, 0)) return;
+        TriangulationCache.Entry triangulation = drawer.triangulationCache.get(vertices, offset, count);
+        polygon(vertices, offset, count, triangulation.triangles, triangulation.trianglesCount, offsetX, offsetY, scaleX, scaleY);
     }
 
     void polygon(float[] vertices, ShortArray triangles) {
@@ -48,15 +62,74 @@ abstract class FilledPolygonDrawer<T extends BatchManager> extends DrawerTemplat
         polygon(vertices, triangles, triangles.length, offsetX, offsetY, 1, 1);
     }
 
+    /**
+     * <p>Draws a filled ellipse that is only a few pixels across as a regular polygon with a small fixed number of sides:
+     * a single quad if it is less than a pixel in radius, otherwise an octagon. The polygon is pushed as a fan of quads
+     * from its first vertex, and is scaled to have the same area as the ellipse so that it appears equally bright.</p>
+     */
+    void dot(float centreX, float centreY, float radiusX, float radiusY, float rotation, float color) {
+        if (isCulled(centreX, centreY, radiusX, radiusY)) return;
+        boolean caching = batchManager.isCachingDraws();
+        int sides = Math.max(Math.abs(radiusX), Math.abs(radiusY)) < batchManager.pixelSize ? 4 : 8;
+        float scale = sides == 4 ? DOT_SCALE_4 : DOT_SCALE_8;
+        radiusX *= scale;
+        radiusY *= scale;
+        float[] unitCircle = drawer.unitCircleCache.get(sides);
+        float cos = 1, sin = 0;
+        if (rotation != 0) {
+            cos = (float) Math.cos(rotation);
+            sin = (float) Math.sin(rotation);
+        }
+        float x0 = radiusX * unitCircle[0], y0 = radiusY * unitCircle[1];
+        for (int i = 1; i < sides - 1; i += 2) {
+            batchManager.ensureSpaceForQuad();
+            vert1(x0 * cos - y0 * sin + centreX, x0 * sin + y0 * cos + centreY);
+            float x = radiusX * unitCircle[2 * i], y = radiusY * unitCircle[2 * i + 1];
+            vert2(x * cos - y * sin + centreX, x * sin + y * cos + centreY);
+            x = radiusX * unitCircle[2 * i + 2];
+            y = radiusY * unitCircle[2 * i + 3];
+            vert3(x * cos - y * sin + centreX, x * sin + y * cos + centreY);
+            if (i + 2 < sides) {
+                x = radiusX * unitCircle[(2 * i + 4) % (2 * sides)];
+                y = radiusY * unitCircle[(2 * i + 5) % (2 * sides)];
+                vert4(x * cos - y * sin + centreX, x * sin + y * cos + centreY);
+                color(color, color, color, color);
+                batchManager.pushQuad();
+            } else {
+                color(color, color, color);
+                batchManager.pushTriangle();
+            }
+        }
+        if (!caching) batchManager.pushToBatch();
+    }
+
+    /**
+     * @return whether the circle containing the ellipse is outside the cull bounds
+     */
+    boolean isCulled(float centreX, float centreY, float radiusX, float radiusY) {
+        return drawer.isCulled(centreX, centreY, Math.max(Math.abs(radiusX), Math.abs(radiusY)));
+    }
+
     void rectangle(float x, float y, float width, float height, float rotation) {
         float c = batchManager.floatBits;
         rectangle(x, y, width, height, rotation, c, c, c, c);
     }
 
     void rectangle(float x, float y, float width, float height, float rotation, float c1, float c2, float c3, float c4) {
+        if (drawer.culling) {
+            //if rotated, the rectangle is contained in the circle through its corners
+            float halfWidth = 0.5f * Math.abs(width), halfHeight = 0.5f * Math.abs(height);
+            if (rotation != 0) halfWidth = halfHeight = (float) Math.sqrt(halfWidth * halfWidth + halfHeight * halfHeight);
+            float centreX = x + 0.5f * width, centreY = y + 0.5f * height;
+            if (drawer.isCulled(centreX - halfWidth, centreY - halfHeight, centreX + halfWidth, centreY + halfHeight)) return;
+        }
         boolean caching = batchManager.isCachingDraws();
         batchManager.ensureSpaceForQuad();
-        float cos = (float) Math.cos(rotation), sin = (float) Math.sin(rotation);
+        float cos = 1, sin = 0;
+        if (rotation != 0) {
+            cos = (float) Math.cos(rotation);
+            sin = (float) Math.sin(rotation);
+        }
         float halfWidth = 0.5f * width, halfHeight = 0.5f * height;
         float centreX = x + halfWidth, centreY = y + halfHeight;
         x1(halfWidth * cos - halfHeight * sin + centreX);
@@ -73,7 +146,10 @@ abstract class FilledPolygonDrawer<T extends BatchManager> extends DrawerTemplat
     }
 
     public void triangle(float x1, float y1, float x2, float y2, float x3, float y3, float color1, float color2, float color3) {
+        if (drawer.isCulled(Math.min(x1, Math.min(x2, x3)), Math.min(y1, Math.min(y2, y3)),
+                Math.max(x1, Math.max(x2, x3)), Math.max(y1, Math.max(y2, y3)))) return;
         boolean caching = batchManager.isCachingDraws();
+        batchManager.ensureSpaceForTriangle();
         vert1(x1, y1);
         vert2(x2, y2);
         vert3(x3, y3);
@@ -90,15 +166,15 @@ abstract class FilledPolygonDrawer<T extends BatchManager> extends DrawerTemplat
 
         @Override
         void polygon(float centreX, float centreY, int sides, float radiusX, float radiusY, float rotation, float startAngle, float radians, float innerColor, float outerColor) {
-            if (radians==0) return;
+            if (radians==0 || isCulled(centreX, centreY, radiusX, radiusY)) return;
             radians = Math.min(radians, ShapeUtils.PI2);
 
             boolean wasCaching = batchManager.startCaching();
 
+            float[] unitCircle = drawer.unitCircleCache.get(sides);
             float angleInterval = MathUtils.PI2 / sides;
             float endAngle = startAngle + radians;
 
-            float cos = (float) Math.cos(angleInterval), sin = (float) Math.sin(angleInterval);
             float cosRot = (float) Math.cos(rotation), sinRot = (float) Math.sin(rotation);
 
             int start = (int) Math.ceil(sides * (startAngle / ShapeUtils.PI2));
@@ -106,7 +182,7 @@ abstract class FilledPolygonDrawer<T extends BatchManager> extends DrawerTemplat
 
             if (ShapeUtils.epsilonEquals(start * angleInterval, startAngle)) start++;
 
-            B.set(1, 0).rotateRad(startAngle).scl(radiusX, radiusY);
+            UnitCircleCache.point(unitCircle, sides, startAngle, B).scl(radiusX, radiusY);
 
 
             int n = end-start+1;
@@ -114,8 +190,8 @@ abstract class FilledPolygonDrawer<T extends BatchManager> extends DrawerTemplat
                 // there are no "regular" segments, will never enter loop,
                 // so just push the one triangle from start angle to end angle
                 batchManager.ensureSpaceForTriangle();
-                A.set(1, 0).rotateRad(startAngle).scl(radiusX, radiusY);
-                B.set(1, 0).rotateRad(endAngle).scl(radiusX, radiusY);
+                UnitCircleCache.point(unitCircle, sides, startAngle, A).scl(radiusX, radiusY);
+                UnitCircleCache.point(unitCircle, sides, endAngle, B).scl(radiusX, radiusY);
                 vert1(centreX, centreY);
                 x2(A.x*cosRot-A.y*sinRot  + centreX);
                 y2(A.x*sinRot+A.y*cosRot + centreY);
@@ -125,8 +201,11 @@ abstract class FilledPolygonDrawer<T extends BatchManager> extends DrawerTemplat
                 batchManager.pushTriangle();
             } else {
                 //prepare for regular segments
-                dir.set(1, 0).rotateRad(Math.min(start * angleInterval, endAngle));
-                C.set(dir).scl(radiusX, radiusY);
+                if (start * angleInterval < endAngle) {
+                    UnitCircleCache.vertex(unitCircle, sides, start, C).scl(radiusX, radiusY);
+                } else {
+                    UnitCircleCache.point(unitCircle, sides, endAngle, C).scl(radiusX, radiusY);
+                }
             }
 
 
@@ -135,10 +214,9 @@ abstract class FilledPolygonDrawer<T extends BatchManager> extends DrawerTemplat
                 A.set(B);
                 B.set(C);
                 if (i<n-2) {
-                    dir.set(dir.x * cos - dir.y * sin, dir.x * sin + dir.y * cos);
-                    C.set(dir).scl(radiusX, radiusY);
+                    UnitCircleCache.vertex(unitCircle, sides, start + i + 1, C).scl(radiusX, radiusY);
                 } else {
-                    C.set(1, 0).rotateRad(endAngle).scl(radiusX, radiusY);
+                    UnitCircleCache.point(unitCircle, sides, endAngle, C).scl(radiusX, radiusY);
                 }
 
                 if (i%2==0) {
@@ -156,7 +234,6 @@ abstract class FilledPolygonDrawer<T extends BatchManager> extends DrawerTemplat
                 } else if (i==n-2) {
                     //draw final triangle
                     batchManager.ensureSpaceForTriangle();
-                    C.set(1, 0).rotateRad(endAngle).scl(radiusX, radiusY);
                     vert1(centreX, centreY);
                     x2(B.x*cosRot-B.y*sinRot  + centreX);
                     y2(B.x*sinRot+B.y*cosRot + centreY);
@@ -171,17 +248,59 @@ abstract class FilledPolygonDrawer<T extends BatchManager> extends DrawerTemplat
         }
 
         @Override
-        void polygon(float[] vertices, short[] triangles, int trianglesCount, float x, float y, float scaleX, float scaleY) {
+        void polygon(float[] vertices, int offset, int count, short[] triangles, int trianglesCount, float x, float y, float scaleX, float scaleY) {
+            boolean caching = batchManager.isCachingDraws();
             float c = batchManager.floatBits;
-            for (int i = 0; i < trianglesCount; i += 3) {
-                batchManager.ensureSpaceForTriangle();
-                vert1(scaleX * vertices[2 * triangles[i]] + x, scaleY * vertices[2 * triangles[i] + 1] + y);
-                vert2(scaleX * vertices[2 * triangles[i + 1]] + x, scaleY * vertices[2 * triangles[i + 1] + 1] + y);
-                vert3(scaleX * vertices[2 * triangles[i + 2]] + x, scaleY * vertices[2 * triangles[i + 2] + 1] + y);
-                color(c, c, c);
-                batchManager.pushTriangle();
+            int i = 0;
+            while (i < trianglesCount) {
+                batchManager.ensureSpaceForQuad();
+                int a = triangles[i], b = triangles[i + 1], d = triangles[i + 2];
+                int e = i + 5 < trianglesCount ? vertexNotShared(triangles, i + 3, a, b, d) : -1;
+                if (e >= 0) {
+                    //the batch splits a quad along the diagonal from vertex 1 to vertex 3, so the edge shared by the
+                    //two triangles has to be that diagonal
+                    if (!isVertexOf(triangles, i + 3, a)) {
+                        int t = a; a = b; b = t;
+                    } else if (!isVertexOf(triangles, i + 3, d)) {
+                        int t = b; b = d; d = t;
+                    }
+                    vert1(scaleX * vertices[offset + 2 * a] + x, scaleY * vertices[offset + 2 * a + 1] + y);
+                    vert2(scaleX * vertices[offset + 2 * b] + x, scaleY * vertices[offset + 2 * b + 1] + y);
+                    vert3(scaleX * vertices[offset + 2 * d] + x, scaleY * vertices[offset + 2 * d + 1] + y);
+                    vert4(scaleX * vertices[offset + 2 * e] + x, scaleY * vertices[offset + 2 * e + 1] + y);
+                    color(c, c, c, c);
+                    batchManager.pushQuad();
+                    i += 6;
+                } else {
+                    vert1(scaleX * vertices[offset + 2 * a] + x, scaleY * vertices[offset + 2 * a + 1] + y);
+                    vert2(scaleX * vertices[offset + 2 * b] + x, scaleY * vertices[offset + 2 * b + 1] + y);
+                    vert3(scaleX * vertices[offset + 2 * d] + x, scaleY * vertices[offset + 2 * d + 1] + y);
+                    color(c, c, c);
+                    batchManager.pushTriangle();
+                    i += 3;
+                }
             }
-            batchManager.pushToBatch();
+            if (!caching) batchManager.pushToBatch();
+        }
+
+        /**
+         * @return the vertex of the triangle starting at {@code index} that is not one of a, b or c, if it shares the
+         * other two, otherwise -1
+         */
+        static int vertexNotShared(short[] triangles, int index, int a, int b, int c) {
+            int notShared = -1;
+            for (int i = index; i < index + 3; i++) {
+                int v = triangles[i];
+                if (v != a && v != b && v != c) {
+                    if (notShared >= 0) return -1;
+                    notShared = v;
+                }
+            }
+            return notShared;
+        }
+
+        static boolean isVertexOf(short[] triangles, int index, int v) {
+            return triangles[index] == v || triangles[index + 1] == v || triangles[index + 2] == v;
         }
     }
 
@@ -193,15 +312,15 @@ abstract class FilledPolygonDrawer<T extends BatchManager> extends DrawerTemplat
 
         @Override
         void polygon(float centreX, float centreY, int sides, float radiusX, float radiusY, float rotation, float startAngle, float radians, float innerColor, float outerColor) {
-            if (radians==0) return;
+            if (radians==0 || isCulled(centreX, centreY, radiusX, radiusY)) return;
             radians = Math.min(radians, ShapeUtils.PI2);
 
             boolean wasCaching = batchManager.startCaching();
 
+            float[] unitCircle = drawer.unitCircleCache.get(sides);
             float angleInterval = MathUtils.PI2 / sides;
             float endAngle = startAngle + radians;
 
-            float cos = (float) Math.cos(angleInterval), sin = (float) Math.sin(angleInterval);
             float cosRot = (float) Math.cos(rotation), sinRot = (float) Math.sin(rotation);
 
             int start = (int) Math.ceil(sides * (startAngle / ShapeUtils.PI2));
@@ -211,7 +330,7 @@ abstract class FilledPolygonDrawer<T extends BatchManager> extends DrawerTemplat
 
             int n = end-start+1;
             batchManager.ensureSpace(n + 2);
-            int vertexOffset = batchManager.getVerticesArrayIndex();
+            int vertexOffset = batchManager.vertexCount;
 
             //centre point - triangle index 0
             vert1(centreX, centreY);
@@ -219,7 +338,7 @@ abstract class FilledPolygonDrawer<T extends BatchManager> extends DrawerTemplat
             batchManager.pushVertex();
 
             //first perimeter vertex (at start angle) - triangle index 1
-            A.set(1, 0).rotateRad(startAngle).scl(radiusX, radiusY);
+            UnitCircleCache.point(unitCircle, sides, startAngle, A).scl(radiusX, radiusY);
             x1(A.x*cosRot-A.y*sinRot  + centreX);
             y1(A.x*sinRot+A.y*cosRot + centreY);
             color1(outerColor);
@@ -227,21 +346,18 @@ abstract class FilledPolygonDrawer<T extends BatchManager> extends DrawerTemplat
             batchManager.pushTriangleIndices((short) vertexOffset, (short) (vertexOffset+1), (short) (vertexOffset+2));
 
             //loop through evenly spaced perimeter vertices
-            dir.set(1, 0).rotateRad(Math.min(start * angleInterval, endAngle));
-            A.set(dir).scl(radiusX, radiusY);
             for (int i = 0; i < n-1; i++) {
+                UnitCircleCache.vertex(unitCircle, sides, start + i, A).scl(radiusX, radiusY);
                 x1(A.x*cosRot-A.y*sinRot  + centreX);
                 y1(A.x*sinRot+A.y*cosRot + centreY);
                 color1(outerColor);
                 batchManager.pushVertex();
-                dir.set(dir.x * cos - dir.y * sin, dir.x * sin + dir.y * cos);
-                A.set(dir).scl(radiusX, radiusY);
 
                 batchManager.pushTriangleIndices((short) vertexOffset, (short) (vertexOffset+i+2), (short) (vertexOffset+i+3));
             }
 
             //last perimeter vertex (at end angle) - triangle index n+1 (already included in loop)
-            A.set(1, 0).rotateRad(endAngle).scl(radiusX, radiusY);
+            UnitCircleCache.point(unitCircle, sides, endAngle, A).scl(radiusX, radiusY);
             x1(A.x*cosRot-A.y*sinRot  + centreX);
             y1(A.x*sinRot+A.y*cosRot + centreY);
             color1(outerColor);
@@ -251,12 +367,12 @@ abstract class FilledPolygonDrawer<T extends BatchManager> extends DrawerTemplat
         }
 
         @Override
-        void polygon(float[] vertices, short[] triangles, int trianglesCount, float offsetX, float offsetY, float scaleX, float scaleY) {
-            int n = vertices.length / 2;
-            batchManager.ensureSpace(n);
-            batchManager.pushVertexData(vertices, triangles, trianglesCount, batchManager.floatBits,
+        void polygon(float[] vertices, int offset, int count, short[] triangles, int trianglesCount, float offsetX, float offsetY, float scaleX, float scaleY) {
+            boolean caching = batchManager.isCachingDraws();
+            batchManager.ensureSpace(count / 2);
+            batchManager.pushVertexData(vertices, offset, count, triangles, trianglesCount, batchManager.floatBits,
                     offsetX, offsetY, scaleX, scaleY);
-            batchManager.pushToBatch();
+            if (!caching) batchManager.pushToBatch();
         }
 
     }
@@ -63,7 +63,7 @@ public class GraphDrawer {
     /**
      * Cached FloatArray used to pass sample points to ShapeDrawer for rendering.
      */
-    private static final FloatArray path = new FloatArray();
+    private final FloatArray path = new FloatArray();
     
     public GraphDrawer(ShapeDrawer shapeDrawer) {
         this.shapeDrawer = shapeDrawer;
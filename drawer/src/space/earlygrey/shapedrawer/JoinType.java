@@ -11,12 +11,20 @@ public enum JoinType {
     NONE,
 
     /**
-     * A standard mitre joint.
+     * A standard mitre joint. Joins whose mitre would be longer than the drawer's mitre limit are bevelled as in
+     * {@link #SMOOTH}, see {@link AbstractShapeDrawer#setMitreLimit(float)}.
      */
     POINTY,
 
     /**
-     * A truncated mitre joint.
+     * A truncated mitre joint. The inside corner is limited by the drawer's mitre limit.
      */
-    SMOOTH
+    SMOOTH,
+
+    /**
+     * A truncated mitre joint with the outside corner rounded off. The number of segments used for the arc is
+     * estimated by the drawer's {@link SideEstimator}, so thin lines are drawn with very few. The inside corner is limited
+     * by the drawer's mitre limit.
+     */
+    ROUND
 }
@@ -1,6 +1,5 @@
 package space.earlygrey.shapedrawer;
 
-import com.badlogic.gdx.math.Vector;
 import com.badlogic.gdx.math.Vector2;
 
 /**
@@ -11,72 +10,161 @@ import com.badlogic.gdx.math.Vector2;
 
 class Joiner {
 
-    static final Vector2 AB = new Vector2(), BC = new Vector2(), v = new Vector2();
-
-    //All methods here set D and E based on A,B,C.
+    //All methods here set D and E based on the points A,B,C, where B is the point being joined.
     //D is always on left E is on right, relative to AB.
     //Treat straight line as special case as in this case mitres have undefined length.
+    //A line that turns back on itself is also a special case, as its mitre is infinitely long. Callers always bevel these
+    //joins (see exceedsMitreLimit()), and each line ends square at the join.
+    //When a join exceeds the mitre limit the inside point is as far from B as the outside one, so it is not used: the lines
+    //"overlap", each ending square at B, and the join fill is drawn from B to close the outside of the join.
     //"Inside point" refers to whichever of D or E is on the smaller angle side, vice versa for "outside point".
 
-
+    //The join methods work on the unit directions u (of AB) and w (of BC), so that a path or polygon only has to
+    //normalise each segment once and can reuse it for the joins at both of its ends.
+    //With unit directions, cross(u, w) is the sine of the angle turned through, and the mitre offset from B to D is
+    //halfLineWidth * (w - u) / cross(u, w). This holds whichever way the line bends (the sign of the cross product
+    //takes care of which side is inside), so no trigonometry is needed.
     //see https://math.stackexchange.com/questions/1849784/calculate-miter-points-of-stroked-vectors-in-cartesian-plane
-    static float preparePointyJoin(Vector2 A, Vector2 B, Vector2 C, Vector2 D, Vector2 E, float halfLineWidth) {
-        AB.set(B).sub(A);
-        BC.set(C).sub(B);
-        float angle = ShapeUtils.angleRad(AB, BC);
-        if (ShapeUtils.epsilonEquals(angle, 0) || ShapeUtils.epsilonEquals(angle, ShapeUtils.PI2)) {
-            prepareStraightJoin(B, D, E, halfLineWidth);
-            return angle;
+
+    /**
+     * Sets {@code direction} to the unit vector pointing from (x1, y1) to (x2, y2), or to zero if the points are equal.
+     * @return {@code direction}
+     */
+    static Vector2 direction(float x1, float y1, float x2, float y2, Vector2 direction) {
+        float dx = x2 - x1, dy = y2 - y1;
+        float length2 = dx * dx + dy * dy;
+        if (length2 == 0) return direction.setZero();
+        float invLength = 1f / (float) Math.sqrt(length2);
+        return direction.set(dx * invLength, dy * invLength);
+    }
+
+    static Vector2 direction(Vector2 from, Vector2 to, Vector2 direction) {
+        return direction(from.x, from.y, to.x, to.y, direction);
+    }
+
+    //also true if either direction is zero, in which case there is nothing to join
+    static boolean isStraight(Vector2 u, Vector2 w) {
+        return Math.abs(u.crs(w)) < ShapeUtils.EPSILON && u.dot(w) >= 0;
+    }
+
+    static boolean isReversed(Vector2 u, Vector2 w) {
+        return Math.abs(u.crs(w)) < ShapeUtils.EPSILON && u.dot(w) < 0;
+    }
+
+    /**
+     * Calculates the mitre points at B, where u and w are the unit directions of AB and BC respectively.
+     * @return whether the path bends to the left at B
+     */
+    static boolean preparePointyJoin(Vector2 B, Vector2 u, Vector2 w, Vector2 D, Vector2 E, float halfLineWidth) {
+        if (isStraight(u, w)) {
+            prepareStraightJoin(B, u, D, E, halfLineWidth);
+            return true;
         }
-        float len = (float) (halfLineWidth / Math.sin(angle));
-        boolean bendsLeft = angle < 0;
-        AB.setLength(len);
-        BC.setLength(len);
-        Vector insidePoint = bendsLeft?D:E;
-        Vector outsidePoint = bendsLeft?E:D;
-        insidePoint.set(B).sub(AB).add(BC);
-        outsidePoint.set(B).add(AB).sub(BC);
-        return angle;
+        if (isReversed(u, w)) {
+            prepareStraightJoin(B, u, D, E, halfLineWidth);
+            return false;
+        }
+        float cross = u.crs(w);
+        float scale = halfLineWidth / cross;
+        float mx = scale * (w.x - u.x), my = scale * (w.y - u.y);
+        D.set(B.x + mx, B.y + my);
+        E.set(B.x - mx, B.y - my);
+        return cross > 0;
     }
 
-    static boolean prepareSmoothJoin(Vector2 A, Vector2 B, Vector2 C, Vector2 D, Vector2 E, float halfLineWidth, boolean startOfEdge) {
-        AB.set(B).sub(A);
-        BC.set(C).sub(B);
-        float angle = ShapeUtils.angleRad(AB, BC);
-        if (ShapeUtils.epsilonEquals(angle, 0) || ShapeUtils.epsilonEquals(angle, ShapeUtils.PI2)) {
-            prepareStraightJoin(B, D, E, halfLineWidth);
+    /**
+     * Calculates the points of a truncated mitre at B, where u and w are the unit directions of AB and BC respectively.
+     * The inside point is the same as for a pointy join, the outside point is offset perpendicular to whichever edge
+     * is specified by {@code startOfEdge}. If {@code overlap} is true, which it should be when the join exceeds the mitre
+     * limit, the inside point is also offset perpendicular to that edge, so that the line ends square at B.
+     * @return whether the path bends to the left at B
+     */
+    static boolean prepareSmoothJoin(Vector2 B, Vector2 u, Vector2 w, Vector2 D, Vector2 E, float halfLineWidth, boolean startOfEdge, boolean overlap) {
+        if (isStraight(u, w)) {
+            prepareStraightJoin(B, u, D, E, halfLineWidth);
             return true;
         }
-        float len = (float) (halfLineWidth / Math.sin(angle));
-        AB.setLength(len);
-        BC.setLength(len);
-        boolean bendsLeft = angle < 0;
-        Vector insidePoint = bendsLeft?D:E;
-        Vector outsidePoint = bendsLeft?E:D;
-        insidePoint.set(B).sub(AB).add(BC);
+        if (overlap || isReversed(u, w)) {
+            prepareStraightJoin(B, startOfEdge ? w : u, D, E, halfLineWidth);
+            return u.crs(w) > 0;
+        }
+        boolean bendsLeft = preparePointyJoin(B, u, w, D, E, halfLineWidth);
         //edgeDirection points towards the relevant edge - is this being calculated for the start of BC or the end of AB?
-        Vector2 edgeDirection = startOfEdge?BC:AB;
-        // rotate edgeDirection PI/2 towards outsidePoint
+        Vector2 edgeDirection = startOfEdge ? w : u;
+        float px = halfLineWidth * edgeDirection.y, py = -halfLineWidth * edgeDirection.x;
         if (bendsLeft) {
-            v.set(edgeDirection.y, -edgeDirection.x); //rotate PI/2 to the right (clockwise)
+            E.set(B.x + px, B.y + py); //rotate PI/2 to the right (clockwise)
         } else {
-            v.set(-edgeDirection.y, edgeDirection.x); //rotate PI/2 to the left (anticlockwise)
+            D.set(B.x - px, B.y - py); //rotate PI/2 to the left (anticlockwise)
         }
-        v.setLength(halfLineWidth);
-        outsidePoint.set(B).add(v);
         return bendsLeft;
     }
 
-    static void prepareStraightJoin(Vector2 B, Vector2 D, Vector2 E, float halfLineWidth) {
-        AB.setLength(halfLineWidth);
-        D.set(-AB.y, AB.x).add(B);
-        E.set(AB.y, -AB.x).add(B);
+    /**
+     * Calculates the points for the join at B using either {@link #preparePointyJoin(Vector2, Vector2, Vector2, Vector2, Vector2, float)}
+     * or, if {@code bevel} or {@code overlap} is true, {@link #prepareSmoothJoin(Vector2, Vector2, Vector2, Vector2, Vector2, float, boolean, boolean)}.
+     */
+    static boolean prepareJoin(Vector2 B, Vector2 u, Vector2 w, Vector2 D, Vector2 E, float halfLineWidth, boolean bevel, boolean overlap, boolean startOfEdge) {
+        return bevel || overlap ? prepareSmoothJoin(B, u, w, D, E, halfLineWidth, startOfEdge, overlap) : preparePointyJoin(B, u, w, D, E, halfLineWidth);
+    }
+
+    /**
+     * @return whether the distance between the inside and outside mitre points at the join is more than
+     * {@code mitreLimit} times the line width. This is 1/sin(a/2) where a is the angle between the two lines. A line
+     * that turns back on itself exceeds any limit.
+     */
+    static boolean exceedsMitreLimit(Vector2 u, Vector2 w, float mitreLimit) {
+        if (isStraight(u, w)) return false;
+        if (isReversed(u, w)) return true;
+        float cross = u.crs(w);
+        float dx = w.x - u.x, dy = w.y - u.y;
+        return dx * dx + dy * dy > mitreLimit * mitreLimit * cross * cross;
+    }
+
+    /**
+     * @return the square of the ratio of the distance from B to the mitre points of the join at B, on a path from A to B
+     * to C, to the half width of the line. For lines meeting at an angle a this is 1/sin(a/2). It is 1 if A or C is at
+     * B, and infinite if the path turns back on itself.
+     */
+    static float mitreRatio2(float ax, float ay, float bx, float by, float cx, float cy) {
+        //in double precision, as the denominator cancels almost to 0 for the sharpest joins
+        double ux = (double) bx - ax, uy = (double) by - ay;
+        double wx = (double) cx - bx, wy = (double) cy - by;
+        double lengths = Math.sqrt((ux * ux + uy * uy) * (wx * wx + wy * wy));
+        if (lengths == 0) return 1;
+        //1/sin^2(a/2) = 2/(1 - cos(a)), where cos(a) = -u.w/(|u||w|)
+        double denominator = lengths + ux * wx + uy * wy;
+        if (denominator <= 0) return Float.POSITIVE_INFINITY;
+        return (float) Math.max(1, 2 * lengths / denominator);
+    }
+
+    /**
+     * @return whether the gap on the outside of a smooth join, between the ends of the two lines, is narrower than
+     * {@code gap}. The gap is widest at the outside edge, where its width is halfLineWidth * |w - u|.
+     */
+    static boolean isJoinGapNarrowerThan(Vector2 u, Vector2 w, float halfLineWidth, float gap) {
+        float dx = w.x - u.x, dy = w.y - u.y;
+        return halfLineWidth * halfLineWidth * (dx * dx + dy * dy) < gap * gap;
+    }
+
+    static void prepareStraightJoin(Vector2 B, Vector2 u, Vector2 D, Vector2 E, float halfLineWidth) {
+        float px = halfLineWidth * u.x, py = halfLineWidth * u.y;
+        D.set(B.x - py, B.y + px);
+        E.set(B.x + py, B.y - px);
     }
 
     static void prepareFlatEndpoint(float pathPointX, float pathPointY, float endPointX, float endPointY, Vector2 D, Vector2 E, float halfLineWidth) {
-        v.set(endPointX, endPointY).sub(pathPointX, pathPointY).setLength(halfLineWidth);
-        D.set(v.y, -v.x).add(endPointX, endPointY);
-        E.set(-v.y, v.x).add(endPointX, endPointY);
+        float dx = endPointX - pathPointX, dy = endPointY - pathPointY;
+        float length2 = dx * dx + dy * dy;
+        if (length2 == 0) {
+            D.set(endPointX, endPointY);
+            E.set(endPointX, endPointY);
+            return;
+        }
+        float invLength = 1f / (float) Math.sqrt(length2);
+        float vx = dx * invLength * halfLineWidth, vy = dy * invLength * halfLineWidth;
+        D.set(vy, -vx).add(endPointX, endPointY);
+        E.set(-vy, vx).add(endPointX, endPointY);
     }
 
     static void prepareFlatEndpoint(Vector2 pathPoint, Vector2 endPoint, Vector2 D, Vector2 E, float halfLineWidth) {
@@ -84,9 +172,15 @@ class Joiner {
     }
 
     static void prepareRadialEndpoint(Vector2 A, Vector2 D, Vector2 E, float halfLineWidth) {
-        v.set(A).setLength(halfLineWidth);
-        D.set(A).sub(v);
-        E.set(A).add(v);
+        float vx = A.x, vy = A.y;
+        float length2 = vx * vx + vy * vy, halfLineWidth2 = halfLineWidth * halfLineWidth;
+        if (length2 != 0 && length2 != halfLineWidth2) {
+            float scale = (float) Math.sqrt(halfLineWidth2 / length2);
+            vx *= scale;
+            vy *= scale;
+        }
+        D.set(A).sub(vx, vy);
+        E.set(A).add(vx, vy);
     }
 
 }
@@ -20,15 +20,59 @@ class LineDrawer extends DrawerTemplate<BatchManager> {
     }
 
     void line(float x1, float y1, float x2, float y2, float lineWidth, boolean snap, float c1, float c2) {
+        if (isCulled(x1, y1, x2, y2, lineWidth, lineWidth, snap)) return;
         pushLine(x1, y1, x2, y2, lineWidth, snap, c1, c2);
         batchManager.pushToBatch();
     }
 
     void line(float x1, float y1, float x2, float y2, float startLineWidth, float endLineWidth, boolean snap) {
+        if (isCulled(x1, y1, x2, y2, startLineWidth, endLineWidth, snap)) return;
         pushLine(x1, y1, x2, y2, startLineWidth, endLineWidth, snap, batchManager.floatBits, batchManager.floatBits);
         batchManager.pushToBatch();
     }
 
+    boolean isCulled(float x1, float y1, float x2, float y2, float startLineWidth, float endLineWidth, boolean snap) {
+        //snapping moves the endpoints by less than a pixel
+        float pad = 0.5f * Math.max(startLineWidth, endLineWidth) + (snap ? batchManager.pixelSize : 0);
+        return drawer.isCulled(Math.min(x1, x2) - pad, Math.min(y1, y2) - pad, Math.max(x1, x2) + pad, Math.max(y1, y2) + pad);
+    }
+
+    /**
+     * <p>Pushes {@code count} independent lines, reading the coordinates of each from {@code segments} in the form
+     * [x1, y1, x2, y2, ...] starting at {@code offset}. Space is reserved for as many lines as fit in the cache at once,
+     * and each line is pushed without snapping or the special cases of {@link #pushLine(float, float, float, float, float, float, boolean, float, float)}.
+     * Lines with zero length are skipped, as are lines outside the cull bounds.</p>
+     */
+    void lines(float[] segments, int offset, int count, float lineWidth, float[] colors) {
+        float halfLineWidth = 0.5f * lineWidth;
+        int maxLinesPerPush = batchManager.verts.length / BatchManager.QUAD_PUSH_SIZE;
+        int i = 0;
+        while (i < count) {
+            int end = Math.min(count, i + maxLinesPerPush);
+            batchManager.ensureSpace(4 * (end - i));
+            for (; i < end; i++) {
+                int j = offset + 4 * i;
+                float x1 = segments[j], y1 = segments[j + 1], x2 = segments[j + 2], y2 = segments[j + 3];
+                float dx = x2 - x1, dy = y2 - y1;
+                float length2 = dx * dx + dy * dy;
+                if (length2 == 0) continue;
+                if (drawer.isCulled(Math.min(x1, x2) - halfLineWidth, Math.min(y1, y2) - halfLineWidth,
+                        Math.max(x1, x2) + halfLineWidth, Math.max(y1, y2) + halfLineWidth)) continue;
+                float scale = halfLineWidth / (float) Math.sqrt(length2);
+                //perpendicular to the line, rotated by pi/2
+                float px = -dy * scale, py = dx * scale;
+                vert1(x1 + px, y1 + py);
+                vert2(x1 - px, y1 - py);
+                vert3(x2 - px, y2 - py);
+                vert4(x2 + px, y2 + py);
+                float c = colors == null ? batchManager.floatBits : colors[i];
+                color(c, c, c, c);
+                batchManager.pushQuad();
+            }
+        }
+        if (!batchManager.isCachingDraws()) batchManager.pushToBatch();
+    }
+
     void pushLine(float x1, float y1, float x2, float y2, float lineWidth, boolean snap) {
         pushLine(x1, y1, x2, y2, lineWidth, snap, batchManager.floatBits, batchManager.floatBits);
     }
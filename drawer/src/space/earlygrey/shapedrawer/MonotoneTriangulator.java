@@ -0,0 +1,400 @@
+package space.earlygrey.shapedrawer;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.ShortArray;
+
+import java.util.Arrays;
+import java.util.TreeSet;
+
+/**
+ * <p>A {@link Triangulator} that runs in O(n log n) time, which is much faster than ear clipping for large concave
+ * polygons, such as coastlines or territories with thousands of vertices. Convex polygons are triangulated as a fan.</p>
+ *
+ * <p>The polygon is first split into y-monotone pieces by a sweep from top to bottom, which adds a diagonal below each
+ * vertex where the boundary splits and above each vertex where it merges, then each piece is triangulated in linear time.
+ * See chapter 3 of Computational Geometry: Algorithms and Applications by de Berg et al.</p>
+ *
+ * <p>The triangles may be thinner than those from ear clipping. If the polygon is not simple, it falls back to ear clipping.</p>
+ */
+public class MonotoneTriangulator extends DefaultTriangulator {
+
+	//================================================================================
+	// MEMBERS
+	//================================================================================
+
+	private static final int START = 0, END = 1, SPLIT = 2, MERGE = 3, REGULAR = 4;
+
+	//the vertices in anticlockwise order, and their index in the original polygon
+	private float[] xs = new float[0], ys = new float[0];
+	private int[] original = new int[0];
+	private int n;
+
+	private int[] types = new int[0], helpers = new int[0], sorted = new int[0], sortBuffer = new int[0];
+	private final IntArray diagonals = new IntArray();
+
+	//the edges to the left of the polygon interior that cross the sweep line, ordered from left to right
+	private final TreeSet<Integer> status = new TreeSet<>((e1, e2) -> compareEdges(e1, e2));
+	private Integer[] edges = new Integer[0];
+	private float sweepX, sweepY;
+	//the edge index used to search the status for the edge directly to the left of the current vertex
+	private static final Integer PROBE = -1;
+
+	//half edges of the polygon and diagonals, grouped by the vertex they start from
+	private int[] halfEdgeStart = new int[0], halfEdgeFill = new int[0], halfEdgeTo = new int[0];
+	private float[] halfEdgeAngle = new float[0];
+	private boolean[] halfEdgeUsed = new boolean[0];
+
+	private final IntArray face = new IntArray(), chain = new IntArray(), stack = new IntArray();
+
+	//================================================================================
+	// TRIANGULATION
+	//================================================================================
+
+	@Override
+	protected ShortArray computeConcaveTriangles(float[] vertices, int offset, int count) {
+		n = count / 2;
+		if (n < 3 || !prepare(vertices, offset)) return super.computeConcaveTriangles(vertices, offset, count);
+		triangles.clear();
+		triangles.ensureCapacity(3 * (n - 2));
+		partition();
+		if (!triangulatePieces() || triangles.size != 3 * (n - 2)) {
+			return super.computeConcaveTriangles(vertices, offset, count);
+		}
+		return triangles;
+	}
+
+	/**
+	 * Copies the vertices in anticlockwise order and sorts them from top to bottom.
+	 * @return false if the polygon has no area
+	 */
+	private boolean prepare(float[] vertices, int offset) {
+		if (xs.length < n) {
+			xs = new float[n];
+			ys = new float[n];
+			original = new int[n];
+			types = new int[n];
+			helpers = new int[n];
+			sorted = new int[n];
+			sortBuffer = new int[n];
+			Integer[] newEdges = new Integer[n];
+			System.arraycopy(edges, 0, newEdges, 0, edges.length);
+			for (int i = edges.length; i < n; i++) {
+				newEdges[i] = i;
+			}
+			edges = newEdges;
+		}
+		float area = 0;
+		for (int i = 0, j = n - 1; i < n; j = i++) {
+			area += vertices[offset + 2 * j] * vertices[offset + 2 * i + 1] - vertices[offset + 2 * i] * vertices[offset + 2 * j + 1];
+		}
+		if (area == 0 || Float.isNaN(area)) return false;
+		for (int i = 0; i < n; i++) {
+			int v = area > 0 ? i : n - 1 - i;
+			xs[i] = vertices[offset + 2 * v];
+			ys[i] = vertices[offset + 2 * v + 1];
+			original[i] = v;
+			sorted[i] = i;
+		}
+		sort(0, n);
+		return true;
+	}
+
+	//whether vertex a is above vertex b, with ties broken so that no two vertices are level
+	private boolean above(int a, int b) {
+		return ys[a] > ys[b] || (ys[a] == ys[b] && xs[a] < xs[b]);
+	}
+
+	//merge sort of sorted[from, to) from top to bottom
+	private void sort(int from, int to) {
+		if (to - from < 2) return;
+		int mid = (from + to) >>> 1;
+		sort(from, mid);
+		sort(mid, to);
+		if (!above(sorted[mid], sorted[mid - 1])) return;
+		System.arraycopy(sorted, from, sortBuffer, from, to - from);
+		for (int i = from, j = mid, k = from; k < to; k++) {
+			if (j >= to || (i < mid && !above(sortBuffer[j], sortBuffer[i]))) {
+				sorted[k] = sortBuffer[i++];
+			} else {
+				sorted[k] = sortBuffer[j++];
+			}
+		}
+	}
+
+	private int next(int i) {
+		return i == n - 1 ? 0 : i + 1;
+	}
+
+	private int previous(int i) {
+		return i == 0 ? n - 1 : i - 1;
+	}
+
+	//================================================================================
+	// MONOTONE PARTITION
+	//================================================================================
+
+	/**
+	 * Sweeps from top to bottom, adding the diagonals that split the polygon into y-monotone pieces.
+	 * Edge i goes from vertex i to vertex i + 1.
+	 */
+	private void partition() {
+		for (int i = 0; i < n; i++) {
+			//an edge of a polygon that isn't simple can be removed without having been added, so every helper starts valid
+			helpers[i] = i;
+			int p = previous(i), q = next(i);
+			boolean convex = (xs[i] - xs[p]) * (ys[q] - ys[i]) - (ys[i] - ys[p]) * (xs[q] - xs[i]) > 0;
+			if (above(i, p) && above(i, q)) {
+				types[i] = convex ? START : SPLIT;
+			} else if (above(p, i) && above(q, i)) {
+				types[i] = convex ? END : MERGE;
+			} else {
+				types[i] = REGULAR;
+			}
+		}
+		diagonals.clear();
+		status.clear();
+		for (int s = 0; s < n; s++) {
+			int v = sorted[s], p = previous(v);
+			sweepX = xs[v];
+			sweepY = ys[v];
+			switch (types[v]) {
+				case START:
+					addEdge(v);
+					break;
+				case END:
+					removeEdge(p, v);
+					break;
+				case SPLIT: {
+					Integer left = status.lower(PROBE);
+					if (left != null) {
+						addDiagonal(v, helpers[left]);
+						helpers[left] = v;
+					}
+					addEdge(v);
+					break;
+				}
+				case MERGE: {
+					removeEdge(p, v);
+					Integer left = status.lower(PROBE);
+					if (left != null) {
+						if (types[helpers[left]] == MERGE) addDiagonal(v, helpers[left]);
+						helpers[left] = v;
+					}
+					break;
+				}
+				default:
+					if (above(p, v)) {
+						//the interior is to the right of v
+						removeEdge(p, v);
+						addEdge(v);
+					} else {
+						Integer left = status.lower(PROBE);
+						if (left != null) {
+							if (types[helpers[left]] == MERGE) addDiagonal(v, helpers[left]);
+							helpers[left] = v;
+						}
+					}
+			}
+		}
+	}
+
+	private void addEdge(int v) {
+		helpers[v] = v;
+		status.add(edges[v]);
+	}
+
+	private void removeEdge(int e, int v) {
+		if (types[helpers[e]] == MERGE) addDiagonal(v, helpers[e]);
+		status.remove(edges[e]);
+	}
+
+	private void addDiagonal(int a, int b) {
+		diagonals.add(a, b);
+	}
+
+	private int compareEdges(int e1, int e2) {
+		if (e1 == e2) return 0;
+		float x1 = edgeXAtSweep(e1), x2 = edgeXAtSweep(e2);
+		if (x1 < x2) return -1;
+		if (x1 > x2) return 1;
+		//only happens for polygons that aren't simple, or when searching for an edge through the current vertex
+		return e1 < e2 ? -1 : 1;
+	}
+
+	private float edgeXAtSweep(int e) {
+		if (e < 0) return sweepX;
+		int a = e, b = next(e);
+		float ya = ys[a], yb = ys[b];
+		if (ya == yb) return Math.max(Math.min(xs[a], xs[b]), Math.min(sweepX, Math.max(xs[a], xs[b])));
+		return xs[a] + (sweepY - ya) / (yb - ya) * (xs[b] - xs[a]);
+	}
+
+	//================================================================================
+	// TRIANGULATING THE PIECES
+	//================================================================================
+
+	/**
+	 * Finds each piece bounded by the polygon edges and diagonals and triangulates it.
+	 * @return false if the pieces are inconsistent, which only happens if the polygon is not simple
+	 */
+	private boolean triangulatePieces() {
+		int halfEdgeCount = n + diagonals.size;
+		if (halfEdgeTo.length < halfEdgeCount) {
+			halfEdgeTo = new int[halfEdgeCount];
+			halfEdgeAngle = new float[halfEdgeCount];
+			halfEdgeUsed = new boolean[halfEdgeCount];
+		}
+		if (halfEdgeStart.length < n + 1) {
+			halfEdgeStart = new int[n + 1];
+			halfEdgeFill = new int[n];
+		}
+
+		//count the half edges from each vertex, then fill them in grouped by vertex
+		Arrays.fill(halfEdgeStart, 0, n + 1, 0);
+		for (int i = 0; i < n; i++) {
+			halfEdgeStart[i + 1]++;
+		}
+		for (int i = 0; i < diagonals.size; i++) {
+			halfEdgeStart[diagonals.get(i) + 1]++;
+		}
+		for (int i = 0; i < n; i++) {
+			halfEdgeStart[i + 1] += halfEdgeStart[i];
+		}
+		int[] fill = halfEdgeFill;
+		System.arraycopy(halfEdgeStart, 0, fill, 0, n);
+		for (int i = 0; i < n; i++) {
+			addHalfEdge(fill, i, next(i));
+		}
+		for (int i = 0; i < diagonals.size; i += 2) {
+			int a = diagonals.get(i), b = diagonals.get(i + 1);
+			addHalfEdge(fill, a, b);
+			addHalfEdge(fill, b, a);
+		}
+
+		//walk around each piece keeping it on the left, turning as far right as possible at each vertex
+		for (int h = 0; h < halfEdgeCount; h++) {
+			if (halfEdgeUsed[h]) continue;
+			face.clear();
+			int from = origin(h), current = h;
+			while (!halfEdgeUsed[current]) {
+				halfEdgeUsed[current] = true;
+				face.add(from);
+				if (face.size > n) return false;
+				int to = halfEdgeTo[current];
+				current = nextHalfEdge(to, from);
+				if (current < 0) return false;
+				from = to;
+			}
+			if (current != h || !triangulateMonotone()) return false;
+		}
+		return true;
+	}
+
+	private void addHalfEdge(int[] fill, int from, int to) {
+		int h = fill[from]++;
+		halfEdgeTo[h] = to;
+		halfEdgeAngle[h] = (float) Math.atan2(ys[to] - ys[from], xs[to] - xs[from]);
+		halfEdgeUsed[h] = false;
+	}
+
+	private int origin(int h) {
+		int low = 0, high = n - 1;
+		while (low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if (halfEdgeStart[mid] <= h) low = mid;
+			else high = mid - 1;
+		}
+		return low;
+	}
+
+	//the half edge from v that is the first clockwise from the direction back to the previous vertex
+	private int nextHalfEdge(int v, int previous) {
+		float back = (float) Math.atan2(ys[previous] - ys[v], xs[previous] - xs[v]);
+		int best = -1;
+		float bestTurn = Float.POSITIVE_INFINITY;
+		for (int h = halfEdgeStart[v]; h < halfEdgeStart[v + 1]; h++) {
+			float turn = back - halfEdgeAngle[h];
+			while (turn <= 0) turn += ShapeUtils.PI2;
+			while (turn > ShapeUtils.PI2) turn -= ShapeUtils.PI2;
+			if (halfEdgeTo[h] == previous) turn = ShapeUtils.PI2;
+			if (turn < bestTurn) {
+				bestTurn = turn;
+				best = h;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Triangulates the y-monotone piece in {@link #face}, which is in anticlockwise order.
+	 * @return false if it is not monotone
+	 */
+	private boolean triangulateMonotone() {
+		int k = face.size;
+		if (k < 3) return false;
+		if (k == 3) {
+			addTriangle(face.get(0), face.get(1), face.get(2));
+			return true;
+		}
+		int top = 0, bottom = 0;
+		for (int i = 1; i < k; i++) {
+			if (above(face.get(i), face.get(top))) top = i;
+			if (above(face.get(bottom), face.get(i))) bottom = i;
+		}
+		//going anticlockwise from the top goes down the left chain, merge it with the right chain from top to bottom.
+		//chain holds the vertex and, in the next element, 1 for the left chain and 0 for the right
+		chain.clear();
+		int left = (top + 1) % k, right = (top + k - 1) % k;
+		chain.add(face.get(top), 1);
+		while (left != bottom || right != bottom) {
+			boolean takeLeft = right == bottom || (left != bottom && above(face.get(left), face.get(right)));
+			if (takeLeft) {
+				chain.add(face.get(left), 1);
+				left = (left + 1) % k;
+			} else {
+				chain.add(face.get(right), 0);
+				right = (right + k - 1) % k;
+			}
+		}
+		chain.add(face.get(bottom), 0);
+		for (int i = 2; i < chain.size; i += 2) {
+			if (!above(chain.get(i - 2), chain.get(i))) return false;
+		}
+
+		stack.clear();
+		stack.add(0, 2);
+		for (int j = 2; j < k - 1; j++) {
+			int u = chain.get(2 * j), side = chain.get(2 * j + 1);
+			int topOfStack = stack.peek();
+			if (chain.get(topOfStack + 1) != side) {
+				//on the opposite chain to the stack, so all of the stack is visible
+				for (int i = 0; i < stack.size - 1; i++) {
+					addTriangle(u, chain.get(stack.get(i)), chain.get(stack.get(i + 1)));
+				}
+				stack.clear();
+				stack.add(2 * (j - 1), 2 * j);
+			} else {
+				int last = stack.pop();
+				while (stack.size > 0) {
+					int s = stack.peek();
+					int a = chain.get(s), b = chain.get(last);
+					float cross = (xs[a] - xs[u]) * (ys[b] - ys[u]) - (ys[a] - ys[u]) * (xs[b] - xs[u]);
+					if (side == 1 ? cross <= 0 : cross >= 0) break;
+					addTriangle(u, b, a);
+					last = stack.pop();
+				}
+				stack.add(last, 2 * j);
+			}
+		}
+		int u = chain.get(2 * (k - 1));
+		for (int i = 0; i < stack.size - 1; i++) {
+			addTriangle(u, chain.get(stack.get(i)), chain.get(stack.get(i + 1)));
+		}
+		return true;
+	}
+
+	private void addTriangle(int a, int b, int c) {
+		triangles.add((short) original[a], (short) original[b], (short) original[c]);
+	}
+
+}
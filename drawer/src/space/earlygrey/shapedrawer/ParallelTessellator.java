@@ -0,0 +1,186 @@
+package space.earlygrey.shapedrawer;
+
+import com.badlogic.gdx.utils.Array;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * <p>Calculates the vertices of a large number of shapes on several threads, then draws them with a {@link ShapeDrawer}
+ * on the calling thread. The shapes of a {@link ShapeTask} are split into consecutive ranges, each of which is drawn by
+ * its own worker drawer into a {@link Drawing} on a {@link ForkJoinPool}. The drawings are then sent to the batch in
+ * order, so the vertices reach the batch in the same order and with the same values as if the shapes had been drawn
+ * one after another with the ShapeDrawer.</p>
+ *
+ * <p>The worker drawers copy the settings of the ShapeDrawer, such as its colour, pixel size, line width, cap type,
+ * {@link SideEstimator} and cull bounds, each time {@link #draw(ShapeTask, int)} is called. The side estimator is shared
+ * between threads, which is fine for the ones in this library. Each worker has its own {@link Triangulator}, which can
+ * be set with {@link #getWorker(int)}.</p>
+ *
+ * <p>This is only worth using for large workloads, such as thousands of paths, and is not available with GWT.</p>
+ */
+
+public class ParallelTessellator {
+
+    private final ShapeDrawer drawer;
+    private final ForkJoinPool pool;
+    private final ShapeDrawer[] workers;
+    //the last drawing recorded by each worker, which is recorded into again so that its arrays are reused
+    private final Drawing[] drawings;
+    private final Array<ForkJoinTask<Drawing>> tasks = new Array<>();
+    private int minimumPerWorker = 64;
+
+    //================================================================================
+    // CONSTRUCTOR
+    //================================================================================
+
+    /**
+     * <p>Creates a ParallelTessellator that runs on the common {@link ForkJoinPool}.</p>
+     *
+     * @param drawer the ShapeDrawer that the shapes are drawn with
+     */
+    public ParallelTessellator(ShapeDrawer drawer) {
+        this(drawer, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param drawer the ShapeDrawer that the shapes are drawn with
+     * @param pool   the pool that calculates the vertices, which has a worker drawer for each of its threads
+     */
+    public ParallelTessellator(ShapeDrawer drawer, ForkJoinPool pool) {
+        this.drawer = drawer;
+        this.pool = pool;
+        workers = new ShapeDrawer[Math.max(1, pool.getParallelism())];
+        drawings = new Drawing[workers.length];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new ShapeDrawer(drawer.getBatch(), drawer.getRegion(), drawer.getSideEstimator(), drawer.getVertexCapacity());
+        }
+    }
+
+    //================================================================================
+    // DRAWING
+    //================================================================================
+
+    /**
+     * <p>Draws the shapes of the task from index 0 to {@code count - 1}. The vertices are calculated on the pool, and this
+     * waits for them before sending them to the batch, so like any other ShapeDrawer method this must be called on the
+     * thread that owns the batch. If there are too few shapes to be worth splitting, or the ShapeDrawer is recording a
+     * {@link Drawing}, they are drawn with the ShapeDrawer on this thread.</p>
+     *
+     * <p>If the task throws, the exception is thrown from here once none of the workers are still drawing. Shapes in the
+     * ranges of workers before the one that threw may already have been sent to the batch.</p>
+     *
+     * @param task  the shapes to draw, which must be safe to call from several threads at once
+     * @param count the number of shapes
+     */
+    public void draw(ShapeTask task, int count) {
+        int workerCount = Math.min(workers.length, count / Math.max(1, minimumPerWorker));
+        //the workers' drawings would go straight to the batch instead of into the recording
+        if (workerCount <= 1 || drawer.isRecording()) {
+            for (int i = 0; i < count; i++) {
+                task.draw(drawer, i);
+            }
+            return;
+        }
+        tasks.clear();
+        for (int w = 0; w < workerCount; w++) {
+            ShapeDrawer worker = workers[w];
+            Drawing drawing = drawings[w];
+            copySettings(drawer, worker);
+            int start = (int) ((long) count * w / workerCount), end = (int) ((long) count * (w + 1) / workerCount);
+            tasks.add(pool.submit(() -> {
+                if (drawing == null) {
+                    worker.startRecording();
+                } else {
+                    worker.startRecording(drawing);
+                }
+                try {
+                    for (int i = start; i < end; i++) {
+                        task.draw(worker, i);
+                    }
+                } catch (RuntimeException | Error e) {
+                    //leave the worker ready to record again
+                    worker.stopRecording();
+                    throw e;
+                }
+                return worker.stopRecording();
+            }));
+        }
+        boolean drawn = false;
+        try {
+            for (int w = 0; w < tasks.size; w++) {
+                drawings[w] = tasks.get(w).join();
+                drawer.draw(drawings[w]);
+            }
+            drawn = true;
+        } finally {
+            if (!drawn) {
+                //the workers are reused, so the other tasks are cancelled, or waited for if they have started
+                for (int w = 0; w < tasks.size; w++) {
+                    ForkJoinTask<Drawing> submitted = tasks.get(w);
+                    submitted.cancel(false);
+                    submitted.quietlyJoin();
+                    if (submitted.isCompletedNormally()) drawings[w] = submitted.getRawResult();
+                }
+            }
+            tasks.clear();
+        }
+    }
+
+    void copySettings(ShapeDrawer from, ShapeDrawer to) {
+        to.setTextureRegion(from.getRegion());
+        to.setSideEstimator(from.getSideEstimator());
+        to.setPixelSize(from.getPixelSize());
+        to.setColor(from.getPackedColor());
+        to.setDefaultLineWidth(from.getDefaultLineWidth());
+        to.setDefaultSnap(from.isDefaultSnap());
+        to.setMitreLimit(from.getMitreLimit());
+        to.setCapType(from.getCapType());
+        to.setDotRadius(from.getDotRadius());
+        to.setMaxVertexCapacity(from.getMaxVertexCapacity());
+        to.setCulling(from.isCulling());
+        to.cullMinX = from.cullMinX;
+        to.cullMinY = from.cullMinY;
+        to.cullMaxX = from.cullMaxX;
+        to.cullMaxY = from.cullMaxY;
+    }
+
+    //================================================================================
+    // GETTERS AND SETTERS
+    //================================================================================
+
+    /**
+     * @return the number of worker drawers, which is the parallelism of the pool
+     */
+    public int getWorkerCount() {
+        return workers.length;
+    }
+
+    /**
+     * <p>Returns a worker drawer, for example to set its {@link Triangulator}. Other settings are copied from the
+     * ShapeDrawer each time shapes are drawn.</p>
+     */
+    public ShapeDrawer getWorker(int index) {
+        return workers[index];
+    }
+
+    /**
+     * @return the fewest shapes each worker is given, see {@link #setMinimumPerWorker(int)}
+     */
+    public int getMinimumPerWorker() {
+        return minimumPerWorker;
+    }
+
+    /**
+     * <p>Sets the fewest shapes each worker is given, so that small tasks are split between fewer workers or drawn on the
+     * calling thread, where the cost of handing them to the pool would be more than the time saved. The default is 64.</p>
+     *
+     * @return the old value
+     */
+    public int setMinimumPerWorker(int minimumPerWorker) {
+        int oldMinimumPerWorker = this.minimumPerWorker;
+        this.minimumPerWorker = minimumPerWorker;
+        return oldMinimumPerWorker;
+    }
+
+}
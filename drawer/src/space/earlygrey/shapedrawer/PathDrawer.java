@@ -2,8 +2,10 @@ package space.earlygrey.shapedrawer;
 
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.BooleanArray;
 import com.badlogic.gdx.utils.FloatArray;
 
+import space.earlygrey.shapedrawer.ShapeUtils.ColorFunction;
 import space.earlygrey.shapedrawer.ShapeUtils.ConstantLineWidth;
 import space.earlygrey.shapedrawer.ShapeUtils.LineWidthFunction;
 
@@ -15,13 +17,59 @@ import space.earlygrey.shapedrawer.ShapeUtils.LineWidthFunction;
 
 class PathDrawer extends DrawerTemplate<BatchManager> {
 
+    //the points of the path being drawn, and the line width and packed colour at each point
     private FloatArray path = new FloatArray();
     private FloatArray lineWidths = new FloatArray();
+    private FloatArray colors = new FloatArray();
     private FloatArray tempPath = new FloatArray();
+    private FloatArray dashPath = new FloatArray(), dashLineWidths = new FloatArray(), dashColors = new FloatArray();
+    private FloatArray firstDashPath = new FloatArray(), firstDashLineWidths = new FloatArray(), firstDashColors = new FloatArray();
+    private FloatArray clippedPath = new FloatArray(), clippedLineWidths = new FloatArray(), clippedColors = new FloatArray();
+    private final BooleanArray visibleSegments = new BooleanArray();
 
     private final Vector2 D0 = new Vector2(), E0 = new Vector2();
+    private final Vector2 dirAB = new Vector2(), dirBC = new Vector2(), dirStart = new Vector2(), dirEnd = new Vector2();
 
-    private static final ConstantLineWidth CONSTANT_LINE_WIDTH = new ConstantLineWidth();
+    private final ConstantLineWidth constantLineWidth = new ConstantLineWidth();
+    private final VertexLineWidths vertexLineWidths = new VertexLineWidths();
+    private final VertexColors vertexColors = new VertexColors();
+
+    /**
+     * <p>Marks that the line widths have been given per vertex of the user's path, so they can be copied as the path is
+     * constructed instead of being sampled.</p>
+     */
+    private static class VertexLineWidths implements LineWidthFunction {
+
+        float[] widths;
+
+        @Override
+        public float getWidth(int i, float t) {
+            return widths[i];
+        }
+
+        VertexLineWidths widths(float[] widths) {
+            this.widths = widths;
+            return this;
+        }
+    }
+
+    /**
+     * <p>Marks that the colours have been given per vertex of the user's path, in the same way as {@link VertexLineWidths}.</p>
+     */
+    private static class VertexColors implements ColorFunction {
+
+        float[] colors;
+
+        @Override
+        public float getColor(int i, float t) {
+            return colors[i];
+        }
+
+        VertexColors colors(float[] colors) {
+            this.colors = colors;
+            return this;
+        }
+    }
 
     PathDrawer(BatchManager batchManager, AbstractShapeDrawer drawer) {
         super(batchManager, drawer);
@@ -66,7 +114,11 @@ class PathDrawer extends DrawerTemplate<BatchManager> {
     }
 
     void path (float[] userPath, int start, int end, final float lineWidth, JoinType joinType, boolean open) {
-        path(userPath, start, end, CONSTANT_LINE_WIDTH.width(lineWidth), joinType, open);
+        path(userPath, start, end, constantLineWidth.width(lineWidth), joinType, open);
+    }
+
+    void path (float[] userPath, int start, int end, float[] lineWidths, JoinType joinType, boolean open) {
+        path(userPath, start, end, vertexLineWidths.widths(lineWidths), joinType, open);
     }
 
     void path (float[] userPath, int start, int end, LineWidthFunction lineWidth, JoinType joinType, boolean open) {
@@ -74,49 +126,465 @@ class PathDrawer extends DrawerTemplate<BatchManager> {
     }
 
     void path (float[] userPath, int start, int end, LineWidthFunction lineWidth, JoinType joinType, boolean open, float offsetX, float offsetY, float scaleX, float scaleY) {
+        path(userPath, start, end, lineWidth, joinType, open, offsetX, offsetY, scaleX, scaleY, null, 0);
+    }
 
+    <T extends Vector2> void path(Iterable<T> userPath, float lineWidth, JoinType joinType, boolean open, float[] dashPattern, float dashPhase) {
+        for (Vector2 v : userPath) {
+            tempPath.add(v.x, v.y);
+        }
+
+        path(tempPath.items, 0, tempPath.size, lineWidth, joinType, open, dashPattern, dashPhase);
+        tempPath.clear();
+    }
+
+    void path (float[] userPath, int start, int end, float lineWidth, JoinType joinType, boolean open, float[] dashPattern, float dashPhase) {
+        path(userPath, start, end, constantLineWidth.width(lineWidth), joinType, open, 0, 0, 1, 1, dashPattern, dashPhase);
+    }
+
+    void path (float[] userPath, int start, int end, float lineWidth, JoinType joinType, boolean open, float[] colors) {
+        path(userPath, start, end, constantLineWidth.width(lineWidth), joinType, open, 0, 0, 1, 1, null, 0, vertexColors.colors(colors));
+    }
+
+    void path (float[] userPath, int start, int end, float lineWidth, JoinType joinType, boolean open, ColorFunction color) {
+        path(userPath, start, end, constantLineWidth.width(lineWidth), joinType, open, 0, 0, 1, 1, null, 0, color);
+    }
+
+    void path (float[] userPath, int start, int end, LineWidthFunction lineWidth, JoinType joinType, boolean open, float offsetX, float offsetY, float scaleX, float scaleY, float[] dashPattern, float dashPhase) {
+        path(userPath, start, end, lineWidth, joinType, open, offsetX, offsetY, scaleX, scaleY, dashPattern, dashPhase, null);
+    }
+
+    /**
+     * <p>Draws a path. If {@code color} is null the path is drawn with the colour of the drawer, otherwise it gives the
+     * colour at each point, which is blended along each line and used for the joins and caps at that point.</p>
+     */
+    void path (float[] userPath, int start, int end, LineWidthFunction lineWidth, JoinType joinType, boolean open, float offsetX, float offsetY, float scaleX, float scaleY, float[] dashPattern, float dashPhase, ColorFunction color) {
+
+        if (dashPattern != null) checkDashPattern(dashPattern);
         if (userPath.length < 4) return;
 
         //construct new path consisting of unique consecutive points
-        path.add(userPath[start]);
-        path.add(userPath[start+1]);
+        boolean perVertex = lineWidth == vertexLineWidths, perVertexColor = color == vertexColors;
+        path.add(offsetX + scaleX * userPath[start], offsetY + scaleY * userPath[start+1]);
+        if (perVertex) lineWidths.add(vertexLineWidths.widths[0]);
+        if (perVertexColor) colors.add(vertexColors.colors[0]);
         for(int i = start+2; i < end; i+=2) {
             if (!ShapeUtils.epsilonEquals(userPath[i-2], userPath[i]) || !ShapeUtils.epsilonEquals(userPath[i-1], userPath[i+1])) {
                 path.add(offsetX + scaleX * userPath[i], offsetY + scaleY * userPath[i+1]);
+                if (perVertex) lineWidths.add(vertexLineWidths.widths[(i - start) / 2]);
+                if (perVertexColor) colors.add(vertexColors.colors[(i - start) / 2]);
             }
         }
         if (path.size < 4) {
-            path.clear();
+            clearPath();
             return;
         }
-        if (path.size == 4) {
-            drawer.lineDrawer.line(path.items[0], path.items[1], path.items[2], path.items[3], lineWidth.getWidth(0, 0), lineWidth.getWidth(1, 1), false);
-            path.clear();
+        if (!perVertex) setLineWidths(path.items, path.size / 2, lineWidth);
+        if (drawer.culling && isCulled(joinType, open)) {
+            clearPath();
             return;
         }
-        setLineWidths(path.items, path.size / 2, lineWidth);
+        if (!perVertexColor) setColors(path.items, path.size / 2, color);
         boolean wasCaching = batchManager.startCaching();
-        if (joinType==JoinType.NONE) {
-            drawPathNoJoin(open);
+        if (dashPattern == null) {
+            drawPath(open, joinType);
         } else {
-            drawPathWithJoin(open, joinType == JoinType.POINTY);
+            drawDashedPath(open, joinType, dashPattern, dashPhase);
         }
         if (!wasCaching) batchManager.endCaching();
+        clearPath();
+    }
+
+    private void clearPath() {
         path.clear();
         lineWidths.clear();
+        colors.clear();
+    }
+
+    /**
+     * <p>Tests the constructed path against the cull bounds, padded by the widest line. Caps and the outside of bevelled or
+     * rounded joins reach no more than sqrt(2) half widths from the path points, but the inside point of every type of join
+     * is at the full mitre, which is far from the path when the lines meet at a sharp angle, so if those bounds are culled
+     * the path is tested again using the longest mitre that any join has.</p>
+     */
+    private boolean isCulled(JoinType joinType, boolean open) {
+        float maxLineWidth = 0;
+        for (int i = 0; i < lineWidths.size; i++) {
+            maxLineWidth = Math.max(maxLineWidth, lineWidths.items[i]);
+        }
+        float halfLineWidth = 0.5f * maxLineWidth;
+        if (!drawer.isCulled(path.items, 0, path.size, 0, 0, 1, 1, ShapeUtils.SQRT2 * halfLineWidth)) return false;
+        if (joinType == JoinType.NONE) return true;
+        float mitre = maxMitreRatio(open);
+        return mitre <= ShapeUtils.SQRT2 || drawer.isCulled(path.items, 0, path.size, 0, 0, 1, 1, mitre * halfLineWidth);
+    }
+
+    private float maxMitreRatio(boolean open) {
+        float maxRatio2 = 1;
+        for (int i = 0; i < path.size / 2; i++) {
+            maxRatio2 = Math.max(maxRatio2, mitreRatio2(i, open));
+        }
+        return (float) Math.sqrt(maxRatio2);
+    }
+
+    /**
+     * <p>Returns the square of the ratio of the distance from point b of the path to the mitre points of its join to the
+     * half width of the line, which for lines meeting at an angle a is 1/sin(a/2), or 1 if the point has no join.</p>
+     */
+    private float mitreRatio2(int b, boolean open) {
+        int n = path.size / 2;
+        if (open && (b == 0 || b == n - 1)) return 1;
+        int a = 2 * ((b + n - 1) % n), c = 2 * ((b + 1) % n);
+        b *= 2;
+        float[] p = path.items;
+        return Joiner.mitreRatio2(p[a], p[a + 1], p[b], p[b + 1], p[c], p[c + 1]);
+    }
+
+    private void drawPath(boolean open, JoinType joinType) {
+        CapType capType = open ? drawer.getCapType() : CapType.FLAT;
+        if (drawer.culling && path.size > 4) {
+            drawClippedPath(open, joinType, capType);
+        } else {
+            strokePath(open, joinType, capType, capType);
+        }
+    }
+
+    private void strokePath(boolean open, JoinType joinType, CapType startCapType, CapType endCapType) {
+        if (startCapType == CapType.SQUARE || endCapType == CapType.SQUARE) {
+            extendEndpoints(startCapType == CapType.SQUARE, endCapType == CapType.SQUARE);
+        }
+        if (path.size == 4) {
+            drawer.lineDrawer.pushLine(path.items[0], path.items[1], path.items[2], path.items[3], lineWidths.get(0), lineWidths.get(1), false, colors.get(0), colors.get(1));
+        } else if (joinType==JoinType.NONE) {
+            drawPathNoJoin(open);
+        } else {
+            drawPathWithJoin(open, joinType);
+        }
+        if (startCapType == CapType.ROUND || endCapType == CapType.ROUND) {
+            drawRoundCaps(startCapType == CapType.ROUND, endCapType == CapType.ROUND);
+        }
+    }
+
+    //================================================================================
+    // CLIPPING
+    //================================================================================
+
+    /**
+     * <p>Draws only the segments of the path near the cull bounds, so that a long path of which only a small part is on
+     * the screen isn't stroked in full. Each segment is tested against the bounds, padded so as to contain its joins, and
+     * is drawn if it or a segment next to it is visible. Each run of drawn segments is drawn as an open path, so the
+     * joins at the ends of the visible parts are calculated from the same points as in the full path. The ends of a run
+     * are outside the bounds, so they are only capped if they are the ends of the path.</p>
+     */
+    private void drawClippedPath(boolean open, JoinType joinType, CapType capType) {
+        int n = path.size / 2, segments = open ? n - 1 : n;
+        visibleSegments.clear();
+        for (int i = 0; i < segments; i++) {
+            visibleSegments.add(isSegmentVisible(i, (i + 1) % n, open, joinType));
+        }
+        //a closed path is split starting from a segment that isn't drawn, so that no run wraps around onto itself
+        int first = -1;
+        for (int i = 0; i < segments && first < 0; i++) {
+            if (!isSegmentDrawn(i, segments, open)) first = i;
+        }
+        if (first < 0) {
+            strokePath(open, joinType, capType, capType);
+            return;
+        }
+        FloatArray fullPath = path, fullLineWidths = lineWidths, fullColors = colors;
+        path = clippedPath;
+        lineWidths = clippedLineWidths;
+        colors = clippedColors;
+        boolean startsPath = false;
+        for (int k = 0; k < segments; k++) {
+            int i = open ? k : (first + 1 + k) % n;
+            if (isSegmentDrawn(i, segments, open)) {
+                if (path.size == 0) {
+                    addClippedPoint(fullPath, fullLineWidths, fullColors, i);
+                    startsPath = open && i == 0;
+                }
+                addClippedPoint(fullPath, fullLineWidths, fullColors, (i + 1) % n);
+            } else if (path.size > 0) {
+                drawClippedRun(joinType, startsPath ? capType : CapType.FLAT, CapType.FLAT);
+            }
+        }
+        if (path.size > 0) drawClippedRun(joinType, startsPath ? capType : CapType.FLAT, open ? capType : CapType.FLAT);
+        path = fullPath;
+        lineWidths = fullLineWidths;
+        colors = fullColors;
+    }
+
+    private void addClippedPoint(FloatArray fullPath, FloatArray fullLineWidths, FloatArray fullColors, int i) {
+        path.add(fullPath.items[2 * i], fullPath.items[2 * i + 1]);
+        lineWidths.add(fullLineWidths.items[i]);
+        colors.add(fullColors.items[i]);
+    }
+
+    private void drawClippedRun(JoinType joinType, CapType startCapType, CapType endCapType) {
+        strokePath(true, joinType, startCapType, endCapType);
+        clearPath();
+    }
+
+    private boolean isSegmentDrawn(int i, int segments, boolean open) {
+        if (visibleSegments.get(i)) return true;
+        if (open) return (i > 0 && visibleSegments.get(i - 1)) || (i < segments - 1 && visibleSegments.get(i + 1));
+        return visibleSegments.get((i + segments - 1) % segments) || visibleSegments.get((i + 1) % segments);
+    }
+
+    /**
+     * <p>Tests the segment between points a and b against the cull bounds, padded in the same way as the whole path in
+     * {@link #isCulled(JoinType, boolean)} but using only the joins at either end of the segment.</p>
+     */
+    private boolean isSegmentVisible(int a, int b, boolean open, JoinType joinType) {
+        float[] p = path.items;
+        float x1 = p[2 * a], y1 = p[2 * a + 1], x2 = p[2 * b], y2 = p[2 * b + 1];
+        float minX = Math.min(x1, x2), minY = Math.min(y1, y2), maxX = Math.max(x1, x2), maxY = Math.max(y1, y2);
+        float halfLineWidth = 0.5f * Math.max(lineWidths.items[a], lineWidths.items[b]);
+        float pad = ShapeUtils.SQRT2 * halfLineWidth;
+        if (!drawer.isCulled(minX - pad, minY - pad, maxX + pad, maxY + pad)) return true;
+        if (joinType == JoinType.NONE) return false;
+        float mitre = (float) Math.sqrt(Math.max(mitreRatio2(a, open), mitreRatio2(b, open)));
+        if (mitre <= ShapeUtils.SQRT2) return false;
+        pad = mitre * halfLineWidth;
+        return !drawer.isCulled(minX - pad, minY - pad, maxX + pad, maxY + pad);
+    }
+
+    //================================================================================
+    // DASHES
+    //================================================================================
+
+    private static void checkDashPattern(float[] dashPattern) {
+        float patternLength = 0;
+        for (float length : dashPattern) {
+            if (!(length >= 0)) throw new IllegalArgumentException("Dash and gap lengths must not be negative, was " + length);
+            patternLength += length;
+        }
+        if (!(patternLength > 0)) throw new IllegalArgumentException("The dash pattern must have a positive total length, was " + patternLength);
+    }
+
+    /**
+     * <p>Walks along the path, measuring arc length, and draws each dash as an open path using {@link #drawPath(boolean, JoinType)},
+     * so dashes get joins at any path points they contain, and caps at either end.</p>
+     */
+    private void drawDashedPath(boolean open, JoinType joinType, float[] dashPattern, float dashPhase) {
+        float patternLength = 0;
+        for (float length : dashPattern) patternLength += length;
+        //an odd number of lengths alternates between dash and gap, so takes two passes to repeat
+        if (dashPattern.length % 2 == 1) patternLength *= 2;
+
+        int index = 0;
+        boolean on = true;
+        float remaining = dashPattern[0];
+        float phase = dashPhase % patternLength;
+        if (phase < 0) phase += patternLength;
+        //at most one pass through the pattern, in case rounding leaves the phase at the end of it
+        for (int k = 0; k < 2 * dashPattern.length && phase >= remaining; k++) {
+            phase -= remaining;
+            index = (index + 1) % dashPattern.length;
+            on = !on;
+            remaining = dashPattern[index];
+        }
+        remaining -= phase;
+
+        float[] p = path.items;
+        int n = path.size / 2;
+        //the first dash of a closed path might continue on from the last one, so it is drawn last
+        boolean deferFirstDash = !open && on, dashEnded = false;
+        float dirX = 0, dirY = 0;
+        if (on) addDashPoint(p[0], p[1], lineWidths.get(0), colors.get(0));
+
+        for (int i = 0; i < (open ? n - 1 : n); i++) {
+            int j = (i + 1) % n;
+            float ax = p[2 * i], ay = p[2 * i + 1], bx = p[2 * j], by = p[2 * j + 1];
+            float widthA = lineWidths.get(i), widthB = lineWidths.get(j);
+            float colorA = colors.get(i), colorB = colors.get(j);
+            float length = Vector2.dst(ax, ay, bx, by);
+            if (length < ShapeUtils.EPSILON) continue;
+            dirX = (bx - ax) / length;
+            dirY = (by - ay) / length;
+            float t = 0;
+            while (remaining <= length - t) {
+                //lengths shorter than the precision of t would not move it along, so it always moves at least one step
+                float next = t + remaining;
+                t = remaining > 0 && next <= t ? Math.nextUp(t) : next;
+                float f = t / length;
+                float x = ax + f * (bx - ax), y = ay + f * (by - ay), width = widthA + f * (widthB - widthA);
+                addDashPoint(x, y, width, ShapeUtils.lerpColor(colorA, colorB, f));
+                if (on) {
+                    if (deferFirstDash && !dashEnded && dashPath.size > 2) {
+                        firstDashPath.addAll(dashPath);
+                        firstDashLineWidths.addAll(dashLineWidths);
+                        firstDashColors.addAll(dashColors);
+                        dashPath.clear();
+                        dashLineWidths.clear();
+                        dashColors.clear();
+                    } else {
+                        drawDash(dashPath, dashLineWidths, dashColors, joinType, true, dirX, dirY);
+                    }
+                    dashEnded = true;
+                }
+                on = !on;
+                index = (index + 1) % dashPattern.length;
+                remaining = dashPattern[index];
+            }
+            remaining -= length - t;
+            if (on) addDashPoint(bx, by, widthB, colorB);
+        }
+
+        if (on) {
+            if (deferFirstDash && !dashEnded) {
+                //the whole path is one dash
+                dashPath.size -= 2;
+                dashLineWidths.size -= 1;
+                dashColors.size -= 1;
+                drawDash(dashPath, dashLineWidths, dashColors, joinType, false, dirX, dirY);
+            } else {
+                for (int i = 2; i < firstDashPath.size; i += 2) {
+                    addDashPoint(firstDashPath.get(i), firstDashPath.get(i + 1), firstDashLineWidths.get(i / 2), firstDashColors.get(i / 2));
+                }
+                drawDash(dashPath, dashLineWidths, dashColors, joinType, true, dirX, dirY);
+            }
+        } else if (firstDashPath.size > 0) {
+            drawDash(firstDashPath, firstDashLineWidths, firstDashColors, joinType, true, dirX, dirY);
+        }
+        dashPath.clear();
+        dashLineWidths.clear();
+        dashColors.clear();
+        firstDashPath.clear();
+        firstDashLineWidths.clear();
+        firstDashColors.clear();
+    }
+
+    private void addDashPoint(float x, float y, float width, float color) {
+        int size = dashPath.size;
+        if (size > 0 && ShapeUtils.epsilonEquals(dashPath.get(size - 2), x) && ShapeUtils.epsilonEquals(dashPath.get(size - 1), y)) return;
+        dashPath.add(x, y);
+        dashLineWidths.add(width);
+        dashColors.add(color);
+    }
+
+    /**
+     * <p>Draws a single dash, by temporarily swapping it in for the path being drawn. A dash with only one point is drawn
+     * as a dot using the current cap type, facing in the direction (dirX, dirY).</p>
+     */
+    private void drawDash(FloatArray dash, FloatArray dashWidths, FloatArray dashColors, JoinType joinType, boolean open, float dirX, float dirY) {
+        if (dash.size == 2) {
+            drawDot(dash.get(0), dash.get(1), dashWidths.get(0) / 2, dirX, dirY, dashColors.get(0));
+        } else if (dash.size > 2) {
+            FloatArray fullPath = path, fullLineWidths = lineWidths, fullColors = colors;
+            path = dash;
+            lineWidths = dashWidths;
+            colors = dashColors;
+            drawPath(open, joinType);
+            path = fullPath;
+            lineWidths = fullLineWidths;
+            colors = fullColors;
+        }
+        dash.clear();
+        dashWidths.clear();
+        dashColors.clear();
+    }
+
+    private void drawDot(float x, float y, float halfLineWidth, float dirX, float dirY, float c) {
+        CapType capType = drawer.getCapType();
+        float ax = halfLineWidth * dirY, ay = -halfLineWidth * dirX, bx = halfLineWidth * dirX, by = halfLineWidth * dirY;
+        if (capType == CapType.ROUND) {
+            int segments = drawer.getSideEstimator().estimateArcSegmentsRequired(batchManager.pixelSize, halfLineWidth, ShapeUtils.PI2);
+            float oldColor = batchManager.floatBits;
+            batchManager.floatBits = c;
+            pushArcFan(x, y, x, y, ax, ay, bx, by, ShapeUtils.PI2, segments, Vector2.Zero, 1, 0);
+            batchManager.floatBits = oldColor;
+        } else if (capType == CapType.SQUARE) {
+            batchManager.ensureSpaceForQuad();
+            vert1(x + ax + bx, y + ay + by);
+            vert2(x - ax + bx, y - ay + by);
+            vert3(x - ax - bx, y - ay - by);
+            vert4(x + ax - bx, y + ay - by);
+            color(c, c, c, c);
+            batchManager.pushQuad();
+        }
+    }
+
+    //moves the first and/or last points outwards by half the line width at each, to draw square caps
+    private void extendEndpoints(boolean start, boolean end) {
+        float[] p = path.items;
+        int n = path.size;
+        if (start) {
+            float halfWidthStart = lineWidths.get(0) / 2;
+            Joiner.direction(p[2], p[3], p[0], p[1], dirStart);
+            p[0] += halfWidthStart * dirStart.x;
+            p[1] += halfWidthStart * dirStart.y;
+        }
+        if (end) {
+            float halfWidthEnd = lineWidths.get(lineWidths.size - 1) / 2;
+            Joiner.direction(p[n - 4], p[n - 3], p[n - 2], p[n - 1], dirEnd);
+            p[n - 2] += halfWidthEnd * dirEnd.x;
+            p[n - 1] += halfWidthEnd * dirEnd.y;
+        }
+    }
+
+    private void drawRoundCaps(boolean start, boolean end) {
+        float[] p = path.items;
+        int n = path.size;
+        if (start) drawRoundCap(p[2], p[3], p[0], p[1], lineWidths.get(0) / 2, colors.get(0));
+        if (end) drawRoundCap(p[n - 4], p[n - 3], p[n - 2], p[n - 1], lineWidths.get(lineWidths.size - 1) / 2, colors.get(colors.size - 1));
+    }
+
+    //draws a semicircle at (endX, endY), on the opposite side to (pathX, pathY)
+    private void drawRoundCap(float pathX, float pathY, float endX, float endY, float halfLineWidth, float color) {
+        int segments = drawer.getSideEstimator().estimateArcSegmentsRequired(batchManager.pixelSize, halfLineWidth, ShapeUtils.PI);
+        Joiner.direction(pathX, pathY, endX, endY, dir).scl(halfLineWidth);
+        float oldColor = batchManager.floatBits;
+        batchManager.floatBits = color;
+        pushArcFan(endX, endY, endX, endY, dir.y, -dir.x, dir.x, dir.y, ShapeUtils.PI, segments, Vector2.Zero, 1, 0);
+        batchManager.floatBits = oldColor;
+    }
+
+    //the fills use the colour of the drawer, so it is set to the colour at the join while they are drawn
+    private void drawJoinFill(Vector2 B, Vector2 u, Vector2 w, Vector2 D, Vector2 E, float halfLineWidth, boolean round, boolean overlap, float color) {
+        float oldColor = batchManager.floatBits;
+        batchManager.floatBits = color;
+        if (round) {
+            drawRoundJoinFill(B, u, w, D, E, halfLineWidth, overlap);
+        } else {
+            drawSmoothJoinFill(B, u, w, D, E, halfLineWidth, overlap);
+        }
+        batchManager.floatBits = oldColor;
     }
 
     private void drawPathNoJoin(boolean open) {
         for (int i = 0; i < path.size - 2; i+=2) {
-            drawer.lineDrawer.pushLine(path.get(i), path.get(i+1), path.get(i+2), path.get(i+3), lineWidths.get(i / 2), lineWidths.get((i / 2) + 1), false);
+            drawer.lineDrawer.pushLine(path.get(i), path.get(i+1), path.get(i+2), path.get(i+3), lineWidths.get(i / 2), lineWidths.get((i / 2) + 1), false, colors.get(i / 2), colors.get((i / 2) + 1));
         }
         if (!open) {
-            drawer.lineDrawer.pushLine(path.get(path.size - 2), path.get(path.size - 1), path.get(0), path.get(1), lineWidths.get(lineWidths.size - 1), lineWidths.get(0), false);
+            drawer.lineDrawer.pushLine(path.get(path.size - 2), path.get(path.size - 1), path.get(0), path.get(1), lineWidths.get(lineWidths.size - 1), lineWidths.get(0), false, colors.get(colors.size - 1), colors.get(0));
+        }
+    }
+
+    private void setColors(float[] path, int size, ColorFunction color) {
+        if (color == null) {
+            float c = batchManager.floatBits;
+            for (int i = 0; i < size; i++) {
+                colors.add(c);
+            }
+            return;
+        }
+
+        //store the length drawn up to each point first, then replace it with the colour there
+        float lengthDrawn = 0;
+        colors.add(0);
+        for (int i = 1; i < size; i++) {
+            lengthDrawn += Vector2.dst(path[2*i-2], path[2*i-1], path[2*i], path[2*i+1]);
+            colors.add(lengthDrawn);
+        }
+        float[] c = colors.items;
+        for (int i = 0; i < size; i++) {
+            c[i] = color.getColor(i, c[i] / lengthDrawn);
         }
     }
 
     private void setLineWidths(float[] path, int size, LineWidthFunction lineWidth) {
-        if (lineWidth == CONSTANT_LINE_WIDTH) {
+        if (lineWidth.getClass() == ConstantLineWidth.class) {
             float w = lineWidth.getWidth(0, 0);
             for (int i = 0; i < size; i++) {
                 lineWidths.add(w);
@@ -124,23 +592,38 @@ class PathDrawer extends DrawerTemplate<BatchManager> {
             return;
         }
 
-        float totalPathLength = ShapeUtils.pathLength(path);
+        //store the length drawn up to each point first, then replace it with the width there
         float lengthDrawn = 0;
-        for (int i = 0; i < size - 1; i++) {
-            float t = lengthDrawn / totalPathLength;
-            lineWidths.add(lineWidth.getWidth(i, t));
-            lengthDrawn += Vector2.dst(path[2*i], path[2*i+1], path[2*i+2], path[2*i+3]);
+        lineWidths.add(0);
+        for (int i = 1; i < size; i++) {
+            lengthDrawn += Vector2.dst(path[2*i-2], path[2*i-1], path[2*i], path[2*i+1]);
+            lineWidths.add(lengthDrawn);
+        }
+        float[] widths = lineWidths.items;
+        for (int i = 0; i < size; i++) {
+            widths[i] = lineWidth.getWidth(i, widths[i] / lengthDrawn);
         }
-        lineWidths.add(lineWidth.getWidth(size - 1, 1));
     }
 
 
-    private void drawPathWithJoin(boolean open, boolean pointyJoin) {
+    private void drawPathWithJoin(boolean open, JoinType joinType) {
 
-        float c = batchManager.floatBits;
+        boolean pointyJoin = joinType == JoinType.POINTY, round = joinType == JoinType.ROUND;
+        float[] c = colors.items;
+        float mitreLimit = drawer.getMitreLimit();
 
         batchManager.ensureSpaceForQuad();
 
+        //unit directions of each segment are calculated once and shared by the joins at either end
+        Joiner.direction(path.get(0), path.get(1), path.get(2), path.get(3), dirAB);
+        dirStart.set(dirAB);
+        boolean bevelStart = false, overlapStart = false;
+        if (!open) {
+            Joiner.direction(path.get(path.size - 2), path.get(path.size - 1), path.get(0), path.get(1), dirEnd);
+            overlapStart = Joiner.exceedsMitreLimit(dirEnd, dirStart, mitreLimit);
+            bevelStart = !pointyJoin || overlapStart;
+        }
+
         for (int i = 2; i < path.size - 2; i+=2) {
             int vertexIndex = i / 2;
 
@@ -149,12 +632,13 @@ class PathDrawer extends DrawerTemplate<BatchManager> {
             A.set(path.get(i-2), path.get(i-1));
             B.set(path.get(i), path.get(i+1));
             C.set(path.get(i+2), path.get(i+3));
+            Joiner.direction(B, C, dirBC);
 
-            if (pointyJoin) {
-                Joiner.preparePointyJoin(A, B, C, D, E, halfWidthB);
-            } else {
-                Joiner.prepareSmoothJoin(A, B, C, D, E, halfWidthB, false);
-            }
+            //joins that are too long end each line square at B, and pointy ones are bevelled like smooth joins
+            boolean overlap = Joiner.exceedsMitreLimit(dirAB, dirBC, mitreLimit);
+            boolean bevel = !pointyJoin || overlap;
+
+            Joiner.prepareJoin(B, dirAB, dirBC, D, E, halfWidthB, bevel, overlap, false);
             vert3(D);
             vert4(E);
 
@@ -164,91 +648,69 @@ class PathDrawer extends DrawerTemplate<BatchManager> {
                     vert1(E);
                     vert2(D);
                 } else {
-                    vec1.set(path.get(path.size  -2), path.get(path.size - 1));
-                    if (pointyJoin) {
-                        Joiner.preparePointyJoin(vec1, A, B, D0, E0, halfWidthA);
-                    } else {
-                        Joiner.prepareSmoothJoin(vec1, A, B, D0, E0, halfWidthA, true);
-                    }
+                    Joiner.prepareJoin(A, dirEnd, dirStart, D0, E0, halfWidthA, bevelStart, overlapStart, true);
                     vert1(E0);
                     vert2(D0);
                 }
             }
 
             float x3, y3, x4, y4;
-            if (pointyJoin) {
+            if (!bevel) {
                 x3 = x3();
                 y3 = y3();
                 x4 = x4();
                 y4 = y4();
             } else {
-                Joiner.prepareSmoothJoin(A, B, C, D, E, halfWidthB, true);
+                Joiner.prepareSmoothJoin(B, dirAB, dirBC, D, E, halfWidthB, true, overlap);
                 x3 = D.x;
                 y3 = D.y;
                 x4 = E.x;
                 y4 = E.y;
             }
-            color(c, c, c, c);
+            color(c[vertexIndex - 1], c[vertexIndex - 1], c[vertexIndex], c[vertexIndex]);
             batchManager.pushQuad();
-            if (!pointyJoin) drawSmoothJoinFill(A, B, C, D, E, halfWidthB);
+            if (bevel) drawJoinFill(B, dirAB, dirBC, D, E, halfWidthB, round, overlap, c[vertexIndex]);
             batchManager.ensureSpaceForQuad();
             vert1(x4, y4);
             vert2(x3, y3);
+            dirAB.set(dirBC);
         }
 
         float halfWidthEnd =  lineWidths.get(lineWidths.size - 1) / 2;
+        int last = colors.size - 1;
 
         if (open) {
             //draw last link on path
             Joiner.prepareFlatEndpoint(B, C, D, E, halfWidthEnd);
             vert3(E);
             vert4(D);
-            color(c, c, c, c);
+            color(c[last - 1], c[last - 1], c[last], c[last]);
             batchManager.pushQuad();
         } else {
             float halfWidthStart =  lineWidths.get(0) / 2;
-            if (pointyJoin) {
-                //draw last link on path
-                A.set(path.get(0), path.get(1));
-                Joiner.preparePointyJoin(B, C, A, D, E, halfWidthEnd);
-                vert3(D);
-                vert4(E);
-                color(c, c, c, c);
-                batchManager.pushQuad();
-
-                //draw connection back to first vertex
-                batchManager.ensureSpaceForQuad();
-                vert1(D);
-                vert2(E);
-                vert3(E0);
-                vert4(D0);
-                color(c, c, c, c);
-                batchManager.pushQuad();
-            } else {
-                //draw last link on path
-                A.set(B);
-                B.set(C);
-                C.set(path.get(0), path.get(1));
-                Joiner.prepareSmoothJoin(A, B, C, D, E, halfWidthEnd, false);
-                vert3(D);
-                vert4(E);
-                color(c, c, c, c);
-                batchManager.pushQuad();
-                drawSmoothJoinFill(A, B, C, D, E, halfWidthEnd);
-
-                //draw connection back to first vertex
-                batchManager.ensureSpaceForQuad();
-                Joiner.prepareSmoothJoin(A, B, C, D, E, halfWidthEnd, true);
-                vert3(E);
-                vert4(D);
-                A.set(path.get(2), path.get(3));
-                Joiner.prepareSmoothJoin(B, C, A, D, E, halfWidthStart, false);
-                vert1(D);
-                vert2(E);
-                color(c, c, c, c);
-                batchManager.pushQuad();
-                drawSmoothJoinFill(B, C, A, D, E, halfWidthStart);
-            }
+            boolean overlapEnd = Joiner.exceedsMitreLimit(dirBC, dirEnd, mitreLimit);
+            boolean bevelEnd = !pointyJoin || overlapEnd;
+
+            //draw last link on path
+            Joiner.prepareJoin(C, dirBC, dirEnd, D, E, halfWidthEnd, bevelEnd, overlapEnd, false);
+            vert3(D);
+            vert4(E);
+            color(c[last - 1], c[last - 1], c[last], c[last]);
+            batchManager.pushQuad();
+            if (bevelEnd) drawJoinFill(C, dirBC, dirEnd, D, E, halfWidthEnd, round, overlapEnd, c[last]);
+
+            //draw connection back to first vertex
+            batchManager.ensureSpaceForQuad();
+            Joiner.prepareJoin(C, dirBC, dirEnd, D, E, halfWidthEnd, bevelEnd, overlapEnd, true);
+            vert1(D);
+            vert2(E);
+            A.set(path.get(0), path.get(1));
+            Joiner.prepareJoin(A, dirEnd, dirStart, D, E, halfWidthStart, bevelStart, overlapStart, false);
+            vert3(E);
+            vert4(D);
+            color(c[last], c[last], c[0], c[0]);
+            batchManager.pushQuad();
+            if (bevelStart) drawJoinFill(A, dirEnd, dirStart, D, E, halfWidthStart, round, overlapStart, c[0]);
         }
     }
 
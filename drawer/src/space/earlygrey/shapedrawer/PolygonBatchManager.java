@@ -11,8 +11,15 @@ class PolygonBatchManager extends BatchManager {
     protected short[] triangles;
     protected int triangleCount = 0;
 
+    //triangle indices are shorts, and a PolygonSpriteBatch can't hold more vertices than this either
+    static final int MAX_VERTEX_CAPACITY = Short.MAX_VALUE;
+
     PolygonBatchManager(PolygonBatch batch, TextureRegion region) {
-        super(batch, region);
+        this(batch, region, DEFAULT_VERTEX_CAPACITY);
+    }
+
+    PolygonBatchManager(PolygonBatch batch, TextureRegion region, int vertexCapacity) {
+        super(batch, region, vertexCapacity);
         //need at least (3 * vxs) triangles
         //n quads arranged in a loop, each sharing 2 vxs with the next requires 2n vertices
         // and 2n triangles (so 2n*3 indices)
@@ -55,10 +62,10 @@ class PolygonBatchManager extends BatchManager {
     }
 
     protected void pushVertexData(float[] vertices, short[] triangles, int trianglesArrayCount, float color) {
-        pushVertexData(vertices, triangles, trianglesArrayCount, color, 0f, 0f, 1, 1);
+        pushVertexData(vertices, 0, vertices.length, triangles, trianglesArrayCount, color, 0f, 0f, 1, 1);
     }
 
-    protected void pushVertexData(float[] vertices, short[] triangles, int trianglesArrayCount,
+    protected void pushVertexData(float[] vertices, int offset, int count, short[] triangles, int trianglesArrayCount,
                                   float color, float offsetX, float offsetY, float scaleX, float scaleY) {
 
         int v = getVerticesArrayIndex();
@@ -69,14 +76,14 @@ class PolygonBatchManager extends BatchManager {
         }
         triangleCount += trianglesArrayCount / 3;
 
-        for (int j = 0; j < vertices.length; j+=2) {
+        for (int j = offset, end = offset + count; j < end; j+=2) {
             float x = scaleX * vertices[j] + offsetX, y = scaleY * vertices[j + 1] + offsetY;
             verts[v + SpriteBatch.X1] = x;
             verts[v + SpriteBatch.Y1] = y;
             verts[v + SpriteBatch.C1] = color;
             v += VERTEX_SIZE;
         }
-        vertexCount += vertices.length / 2;
+        vertexCount += count / 2;
     }
 
     @Override
@@ -84,6 +91,17 @@ class PolygonBatchManager extends BatchManager {
         ensureSpace(3);
     }
 
+    @Override
+    int getVertexCapacityLimit() {
+        return MAX_VERTEX_CAPACITY;
+    }
+
+    //there is room for a triangle for every vertex, so only the vertices need to be checked
+    @Override
+    void reserve(int vertices, int triangles) {
+        ensureSpace(Math.min(Math.max(vertices, triangles), maxVertexCapacity));
+    }
+
     /**
      * <p>Calls {@link PolygonBatch#draw(com.badlogic.gdx.graphics.Texture, float[], int, int, short[], int, int)}
      * using the currently cached vertex and triangle information.</p>
@@ -4,7 +4,9 @@ import com.badlogic.gdx.math.Vector2;
 
 class PolygonDrawer extends DrawerTemplate<BatchManager> {
 
-    static final Vector2 centre = new Vector2(), radius = new Vector2();
+    final Vector2 centre = new Vector2(), radius = new Vector2();
+
+    private final Vector2 dirAB = new Vector2(), dirBC = new Vector2();
 
     PolygonDrawer(BatchManager batchManager, AbstractShapeDrawer drawer) {
         super(batchManager, drawer);
@@ -16,6 +18,8 @@ class PolygonDrawer extends DrawerTemplate<BatchManager> {
 
         float halfLineWidth = 0.5f*lineWidth;
 
+        if (drawer.culling && isCulled(centreX, centreY, sides, radiusX, radiusY, halfLineWidth, joinType)) return;
+
         centre.set(centreX, centreY);
         radius.set(radiusX, radiusY);
 
@@ -23,24 +27,42 @@ class PolygonDrawer extends DrawerTemplate<BatchManager> {
         if (joinType==JoinType.NONE) {
             drawPolygonNoJoin(centre, sides, lineWidth, rotation, radius, startAngle, radians);
         } else {
-            drawPolygonWithJoin(centre, sides, halfLineWidth, rotation, radius, startAngle, radians, joinType==JoinType.SMOOTH);
+            drawPolygonWithJoin(centre, sides, halfLineWidth, rotation, radius, startAngle, radians, joinType);
         }
         if (!wasCaching) batchManager.endCaching();
     }
 
+    /**
+     * <p>Tests the circle containing the polygon against the cull bounds. The mitre points of a join on a regular polygon
+     * are 1/cos(pi/sides) half widths from its vertex, which is at most 2, and stretching the polygon into an ellipse makes
+     * this at most the ratio of the radii times larger. The inside point of every type of join is at the full mitre.</p>
+     */
+    boolean isCulled(float centreX, float centreY, int sides, float radiusX, float radiusY, float halfLineWidth, JoinType joinType) {
+        float maxRadius = Math.max(Math.abs(radiusX), Math.abs(radiusY)), minRadius = Math.min(Math.abs(radiusX), Math.abs(radiusY));
+        float pad = halfLineWidth;
+        if (joinType != JoinType.NONE) {
+            if (sides < 3 || minRadius == 0) return false;
+            pad *= 2 * maxRadius / minRadius;
+        }
+        return drawer.isCulled(centreX, centreY, maxRadius + pad);
+    }
+
     void drawPolygonNoJoin(Vector2 centre, int sides, float lineWidth, float rotation, Vector2 radius, float startAngle, float radians) {
+        float[] unitCircle = drawer.unitCircleCache.get(sides);
         float angleInterval = MathUtils.PI2 / sides;
         float endAngle = startAngle + radians;
 
-        float cos = (float) Math.cos(angleInterval), sin = (float) Math.sin(angleInterval);
         float cosRot = (float) Math.cos(rotation), sinRot = (float) Math.sin(rotation);
 
         int start = (int) Math.ceil(sides * (startAngle / ShapeUtils.PI2));
         int end = (int) Math.floor(sides * (endAngle / ShapeUtils.PI2)) + 1;
 
-        dir.set(1, 0).rotateRad(Math.min(start * angleInterval, endAngle));
-        A.set(1, 0).rotateRad(startAngle).scl(radius);
-        B.set(dir).scl(radius);
+        UnitCircleCache.point(unitCircle, sides, startAngle, A).scl(radius);
+        if (start * angleInterval < endAngle) {
+            UnitCircleCache.vertex(unitCircle, sides, start, B).scl(radius);
+        } else {
+            UnitCircleCache.point(unitCircle, sides, endAngle, B).scl(radius);
+        }
 
         for (int i = start; i <= end; i++) {
             float x1 = A.x*cosRot-A.y*sinRot  + centre.x, y1 = A.x*sinRot+A.y*cosRot + centre.y;
@@ -48,25 +70,30 @@ class PolygonDrawer extends DrawerTemplate<BatchManager> {
             drawer.lineDrawer.pushLine(x1, y1, x2, y2, lineWidth, false);
             if (i<end-1) {
                 A.set(B);
-                dir.set(dir.x * cos - dir.y * sin, dir.x * sin + dir.y * cos);
-                B.set(dir).scl(radius);
+                UnitCircleCache.vertex(unitCircle, sides, i + 1, B).scl(radius);
             } else if (i==end-1) {
                 A.set(B);
-                B.set(1, 0).rotateRad(endAngle).scl(radius);
+                UnitCircleCache.point(unitCircle, sides, endAngle, B).scl(radius);
             }
         }
     }
 
-    void drawPolygonWithJoin(Vector2 centre, int sides, float halfLineWidth, float rotation, Vector2 radius, float startAngle, float radians, boolean smooth) {
+    void drawPolygonWithJoin(Vector2 centre, int sides, float halfLineWidth, float rotation, Vector2 radius, float startAngle, float radians, JoinType joinType) {
+
+        boolean smooth = joinType != JoinType.POINTY, round = joinType == JoinType.ROUND;
 
         float c = batchManager.floatBits;
+        float mitreLimit = drawer.getMitreLimit();
+        //joins between sides that are nearly parallel, as in circles and ellipses with many sides, leave a gap narrower
+        //than half a pixel that would not be visible if filled
+        float minJoinGap = batchManager.halfPixelSize;
 
         boolean full = ShapeUtils.epsilonEquals(radians, ShapeUtils.PI2);
 
+        float[] unitCircle = drawer.unitCircleCache.get(sides);
         float angleInterval = MathUtils.PI2 / sides;
         float endAngle = startAngle + radians;
 
-        float cos = (float) Math.cos(angleInterval), sin = (float) Math.sin(angleInterval);
         float cosRot = (float) Math.cos(rotation), sinRot = (float) Math.sin(rotation);
 
         int start, end;
@@ -74,20 +101,30 @@ class PolygonDrawer extends DrawerTemplate<BatchManager> {
         if (full) {
             start = 1;
             end = sides;
-            dir.set(1, 0).rotateRad(start * angleInterval);
-            A.set(1, 0).rotateRad((start-2) * angleInterval).scl(radius);
-            C.set(dir).scl(radius);
-            B.set(1, 0).rotateRad((start-1) * angleInterval).scl(radius);
+            UnitCircleCache.vertex(unitCircle, sides, start-2, A).scl(radius);
+            UnitCircleCache.vertex(unitCircle, sides, start-1, B).scl(radius);
+            UnitCircleCache.vertex(unitCircle, sides, start, C).scl(radius);
         } else {
             start = (int) Math.ceil(sides * (startAngle / ShapeUtils.PI2));
             if (ShapeUtils.epsilonEquals(start * angleInterval, startAngle)) start++;
             end = (int) Math.floor(sides * (endAngle / ShapeUtils.PI2)) + 1;
             end = Math.min(end, start + sides);
-            dir.set(1, 0).rotateRad(Math.min(start * angleInterval, endAngle));
-            A.set(1, 0).rotateRad((start-1) * angleInterval).scl(radius);
-            B.set(1, 0).rotateRad(startAngle).scl(radius);
-            C.set(dir).scl(radius);
+            UnitCircleCache.vertex(unitCircle, sides, start-1, A).scl(radius);
+            UnitCircleCache.point(unitCircle, sides, startAngle, B).scl(radius);
+            if (start * angleInterval < endAngle) {
+                UnitCircleCache.vertex(unitCircle, sides, start, C).scl(radius);
+            } else {
+                UnitCircleCache.point(unitCircle, sides, endAngle, C).scl(radius);
+            }
         }
+        //unit directions of each side are calculated once and shared by the joins at either end
+        Joiner.direction(A, B, dirAB);
+        Joiner.direction(B, C, dirBC);
+
+        //joins that are too long end each side square at the vertex, and pointy ones are bevelled like smooth joins
+        boolean overlap = Joiner.exceedsMitreLimit(dirAB, dirBC, mitreLimit);
+        boolean bevel = smooth || overlap;
+
         for (int i = start; i <= end; i++) {
 
             batchManager.ensureSpaceForQuad();
@@ -95,11 +132,7 @@ class PolygonDrawer extends DrawerTemplate<BatchManager> {
             if (!full && i==start) {
                 Joiner.prepareRadialEndpoint(B, D, E, halfLineWidth);
             } else {
-                if (smooth) {
-                    Joiner.prepareSmoothJoin(A, B, C, D, E, halfLineWidth, true);
-                } else {
-                    Joiner.preparePointyJoin(A, B, C, D, E, halfLineWidth);
-                }
+                Joiner.prepareJoin(B, dirAB, dirBC, D, E, halfLineWidth, bevel, overlap, true);
             }
             vert1(E.x*cosRot-E.y*sinRot  + centre.x, E.x*sinRot+E.y*cosRot + centre.y);
             vert2(D.x*cosRot-D.y*sinRot  + centre.x, D.x*sinRot+D.y*cosRot + centre.y);
@@ -107,18 +140,17 @@ class PolygonDrawer extends DrawerTemplate<BatchManager> {
             if (full || i<end) {
                 A.set(B);
                 B.set(C);
-                dir.set(dir.x * cos - dir.y * sin, dir.x * sin + dir.y * cos);
-                C.set(dir).scl(radius);
+                UnitCircleCache.vertex(unitCircle, sides, i + 1, C).scl(radius);
+                dirAB.set(dirBC);
+                Joiner.direction(B, C, dirBC);
+                overlap = Joiner.exceedsMitreLimit(dirAB, dirBC, mitreLimit);
+                bevel = smooth || overlap;
             } else {
-                B.set(1, 0).rotateRad(endAngle).scl(radius);
+                UnitCircleCache.point(unitCircle, sides, endAngle, B).scl(radius);
             }
 
             if (full || i<end) {
-                if (smooth) {
-                    Joiner.prepareSmoothJoin(A, B, C, D, E, halfLineWidth, false);
-                } else {
-                    Joiner.preparePointyJoin(A, B, C, D, E, halfLineWidth);
-                }
+                Joiner.prepareJoin(B, dirAB, dirBC, D, E, halfLineWidth, bevel, overlap, false);
             } else {
                 Joiner.prepareRadialEndpoint(B, D, E, halfLineWidth);
             }
@@ -129,7 +161,13 @@ class PolygonDrawer extends DrawerTemplate<BatchManager> {
             color(c,c,c,c);
             batchManager.pushQuad(); //push current AB
 
-            if (smooth && (full || i<end)) drawSmoothJoinFill(A, B, C, D, E, centre, cosRot, sinRot, halfLineWidth);
+            if (bevel && (full || i<end) && !Joiner.isJoinGapNarrowerThan(dirAB, dirBC, halfLineWidth, minJoinGap)) {
+                if (round) {
+                    drawRoundJoinFill(B, dirAB, dirBC, D, E, centre, cosRot, sinRot, halfLineWidth, overlap);
+                } else {
+                    drawSmoothJoinFill(B, dirAB, dirBC, D, E, centre, cosRot, sinRot, halfLineWidth, overlap);
+                }
+            }
         }
     }
 
@@ -0,0 +1,108 @@
+package space.earlygrey.shapedrawer;
+
+import com.badlogic.gdx.math.MathUtils;
+
+/**
+ * <p>A {@link SideEstimator} that uses the fewest sides for which no point on the curve is further than {@link #maxError}
+ * pixels from the polygon drawn, that is where the sagitta of each side is at most {@link #maxError}. For a circle of
+ * radius r in pixels, each side can then cover an angle of 2 * acos(1 - maxError / r).</p>
+ *
+ * <p>The error is measured at the outer edge of the line, and ellipses use their larger radius. This gives far fewer sides
+ * than {@link DefaultSideEstimator} for small circles, and scales with zoom since the radius is measured in pixels.</p>
+ */
+public class SagittaSideEstimator implements SideEstimator {
+
+	//================================================================================
+	// MEMBERS
+	//================================================================================
+
+	/**
+	 * The maximum distance in pixels between the curve and the polygon drawn
+	 */
+	protected float maxError;
+	/**
+	 * Minimum value returned by {@link #estimateSidesRequired(float, float, float)}
+	 */
+	protected int minimumSides;
+	/**
+	 * Maximum value returned by {@link #estimateSidesRequired(float, float, float)}
+	 */
+	protected int maximumSides;
+
+	//================================================================================
+	// CONSTRUCTOR
+	//================================================================================
+
+	public SagittaSideEstimator() {
+		this(0.5f);
+	}
+
+	public SagittaSideEstimator(float maxError) {
+		this(maxError, 3, 4000);
+	}
+
+	public SagittaSideEstimator(float maxError, int minimumSides, int maximumSides) {
+		this.maxError = maxError;
+		this.minimumSides = minimumSides;
+		this.maximumSides = maximumSides;
+	}
+
+	//================================================================================
+	// HELPERS
+	//================================================================================
+
+	@Override
+	public int estimateSidesRequired(float pixelSize, float radiusX, float radiusY) {
+		return estimateSidesRequired(pixelSize, radiusX, radiusY, 0);
+	}
+
+	@Override
+	public int estimateSidesRequired(float pixelSize, float radiusX, float radiusY, float lineWidth) {
+		float radius = Math.max(Math.abs(radiusX), Math.abs(radiusY)) + 0.5f * lineWidth;
+		int sides = (int) Math.ceil(ShapeUtils.PI2 / sideAngle(radius / pixelSize));
+		return MathUtils.clamp(sides, minimumSides, maximumSides);
+	}
+
+	@Override
+	public int estimateArcSegmentsRequired(float pixelSize, float radius, float radians) {
+		int segments = (int) Math.ceil(Math.abs(radians) / sideAngle(radius / pixelSize));
+		int maxSegments = (int) Math.ceil(maximumSides * Math.abs(radians) / ShapeUtils.PI2);
+		return MathUtils.clamp(segments, 1, Math.max(1, maxSegments));
+	}
+
+	/**
+	 * @return the largest angle a side can cover on a circle of the given radius in pixels, keeping within {@link #maxError}
+	 */
+	protected float sideAngle(float radiusInPixels) {
+		if (radiusInPixels <= maxError) return ShapeUtils.PI;
+		return 2 * (float) Math.acos(1 - maxError / radiusInPixels);
+	}
+
+	//================================================================================
+	// GETTERS AND SETTERS
+	//================================================================================
+
+	public float getMaxError() {
+		return maxError;
+	}
+
+	public void setMaxError(float maxError) {
+		this.maxError = maxError;
+	}
+
+	public int getMinimumSides() {
+		return minimumSides;
+	}
+
+	public void setMinimumSides(int minimumSides) {
+		this.minimumSides = minimumSides;
+	}
+
+	public int getMaximumSides() {
+		return maximumSides;
+	}
+
+	public void setMaximumSides(int maximumSides) {
+		this.maximumSides = maximumSides;
+	}
+}
@@ -0,0 +1,566 @@
+package space.earlygrey.shapedrawer;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * <p>Records shapes as a compact list of commands, each an opcode with its colour and float parameters, so that they can
+ * be drawn later with a {@link ShapeDrawer}. This separates deciding what to draw from calculating the vertices. A buffer
+ * can be filled on one thread and drawn on another, as long as it isn't recorded to while it is being drawn, and it is
+ * a {@link ShapeTask} so the commands can be split between threads with a {@link ParallelTessellator}.</p>
+ *
+ * <p>Commands are drawn with the colour that was set on the buffer when they were recorded. Other settings, such as the
+ * pixel size, cap type and mitre limit, are those of the drawer when the buffer is drawn. Shapes that aren't visible can
+ * be skipped with {@link #draw(ShapeDrawer, Rectangle)}, using the bounds from {@link #getBounds(int, Rectangle)}.</p>
+ *
+ * <p>Everything a ShapeDrawer draws uses the same texture, so the order of the commands doesn't affect the number of
+ * draw calls, and they are always drawn in the order they were recorded.</p>
+ */
+
+public class ShapeCommandBuffer implements ShapeTask {
+
+    public enum CommandType {
+        LINE, PATH, POLYGON, FILLED_POLYGON, CIRCLE, FILLED_CIRCLE, ELLIPSE, FILLED_ELLIPSE, ARC, SECTOR,
+        REGULAR_POLYGON, FILLED_REGULAR_POLYGON, TRIANGLE, FILLED_TRIANGLE, RECTANGLE, FILLED_RECTANGLE
+    }
+
+    private static final CommandType[] COMMAND_TYPES = CommandType.values();
+    private static final JoinType[] JOIN_TYPES = JoinType.values();
+
+    //the type, and the start and end of the parameters, of each command
+    private final IntArray commands = new IntArray();
+    //the colour of each command followed by its parameters
+    private final FloatArray params = new FloatArray();
+
+    private float color = Color.WHITE.toFloatBits();
+    private final Rectangle bounds = new Rectangle();
+
+    //================================================================================
+    // RECORDING
+    //================================================================================
+
+    private void start(CommandType type) {
+        commands.add(type.ordinal());
+        commands.add(params.size);
+        params.add(color);
+    }
+
+    private void end() {
+        commands.add(params.size);
+    }
+
+    /**
+     * <p>Records a line, see {@link ShapeDrawer#line(float, float, float, float, float, boolean, float, float)}.</p>
+     */
+    public void line(float x1, float y1, float x2, float y2, float lineWidth, boolean snap) {
+        start(CommandType.LINE);
+        params.add(x1, y1, x2, y2);
+        params.add(lineWidth, snap ? 1 : 0);
+        end();
+    }
+
+    /**
+     * <p>Records a path, see {@link ShapeDrawer#path(float[], int, int, float, JoinType, boolean)}. The points are copied.</p>
+     */
+    public void path(float[] path, int start, int end, float lineWidth, JoinType joinType, boolean open) {
+        start(CommandType.PATH);
+        params.add(lineWidth, joinType.ordinal(), open ? 1 : 0);
+        params.addAll(path, start, end - start);
+        end();
+    }
+
+    /**
+     * <p>Records the outline of a polygon, see {@link ShapeDrawer#polygon(float[], int, int, float, JoinType)}. The vertices
+     * are copied.</p>
+     */
+    public void polygon(float[] vertices, int start, int end, float lineWidth, JoinType joinType) {
+        start(CommandType.POLYGON);
+        params.add(lineWidth, joinType.ordinal());
+        params.addAll(vertices, start, end - start);
+        end();
+    }
+
+    /**
+     * <p>Records a filled polygon, see {@link ShapeDrawer#filledPolygon(float[], int, int)}. The vertices are copied.</p>
+     */
+    public void filledPolygon(float[] vertices, int offset, int count) {
+        start(CommandType.FILLED_POLYGON);
+        params.addAll(vertices, offset, count);
+        end();
+    }
+
+    /**
+     * <p>Records a circle, see {@link ShapeDrawer#circle(float, float, float, float, JoinType)}.</p>
+     */
+    public void circle(float centreX, float centreY, float radius, float lineWidth, JoinType joinType) {
+        start(CommandType.CIRCLE);
+        params.add(centreX, centreY, radius);
+        params.add(lineWidth, joinType.ordinal());
+        end();
+    }
+
+    /**
+     * <p>Records a filled circle, see {@link ShapeDrawer#filledCircle(float, float, float)}.</p>
+     */
+    public void filledCircle(float centreX, float centreY, float radius) {
+        start(CommandType.FILLED_CIRCLE);
+        params.add(centreX, centreY, radius);
+        end();
+    }
+
+    /**
+     * <p>Records an ellipse, see {@link ShapeDrawer#ellipse(float, float, float, float, float, float, JoinType)}.</p>
+     */
+    public void ellipse(float centreX, float centreY, float radiusX, float radiusY, float rotation, float lineWidth, JoinType joinType) {
+        start(CommandType.ELLIPSE);
+        params.add(centreX, centreY, radiusX, radiusY);
+        params.add(rotation, lineWidth, joinType.ordinal());
+        end();
+    }
+
+    /**
+     * <p>Records a filled ellipse, see {@link ShapeDrawer#filledEllipse(float, float, float, float, float)}.</p>
+     */
+    public void filledEllipse(float centreX, float centreY, float radiusX, float radiusY, float rotation) {
+        start(CommandType.FILLED_ELLIPSE);
+        params.add(centreX, centreY, radiusX, radiusY);
+        params.add(rotation);
+        end();
+    }
+
+    /**
+     * <p>Records an arc, see {@link ShapeDrawer#arc(float, float, float, float, float, float, boolean)}.</p>
+     */
+    public void arc(float centreX, float centreY, float radius, float startAngle, float radians, float lineWidth, boolean useJoin) {
+        start(CommandType.ARC);
+        params.add(centreX, centreY, radius);
+        params.add(startAngle, radians, lineWidth, useJoin ? 1 : 0);
+        end();
+    }
+
+    /**
+     * <p>Records a sector, see {@link ShapeDrawer#sector(float, float, float, float, float)}.</p>
+     */
+    public void sector(float centreX, float centreY, float radius, float startAngle, float radians) {
+        start(CommandType.SECTOR);
+        params.add(centreX, centreY, radius);
+        params.add(startAngle, radians);
+        end();
+    }
+
+    /**
+     * <p>Records the outline of a regular polygon, see
+     * {@link ShapeDrawer#polygon(float, float, int, float, float, float, float, JoinType)}.</p>
+     */
+    public void polygon(float centreX, float centreY, int sides, float scaleX, float scaleY, float rotation, float lineWidth, JoinType joinType) {
+        start(CommandType.REGULAR_POLYGON);
+        params.add(centreX, centreY, sides);
+        params.add(scaleX, scaleY, rotation);
+        params.add(lineWidth, joinType.ordinal());
+        end();
+    }
+
+    /**
+     * <p>Records a filled regular polygon, see {@link ShapeDrawer#filledPolygon(float, float, int, float, float, float)}.</p>
+     */
+    public void filledPolygon(float centreX, float centreY, int sides, float scaleX, float scaleY, float rotation) {
+        start(CommandType.FILLED_REGULAR_POLYGON);
+        params.add(centreX, centreY, sides);
+        params.add(scaleX, scaleY, rotation);
+        end();
+    }
+
+    /**
+     * <p>Records the outline of a triangle, see
+     * {@link ShapeDrawer#triangle(float, float, float, float, float, float, float, JoinType, float)}.</p>
+     */
+    public void triangle(float x1, float y1, float x2, float y2, float x3, float y3, float lineWidth, JoinType joinType) {
+        start(CommandType.TRIANGLE);
+        params.add(x1, y1, x2, y2);
+        params.add(x3, y3);
+        params.add(lineWidth, joinType.ordinal());
+        end();
+    }
+
+    /**
+     * <p>Records a filled triangle, see {@link ShapeDrawer#filledTriangle(float, float, float, float, float, float)}.</p>
+     */
+    public void filledTriangle(float x1, float y1, float x2, float y2, float x3, float y3) {
+        start(CommandType.FILLED_TRIANGLE);
+        params.add(x1, y1, x2, y2);
+        params.add(x3, y3);
+        end();
+    }
+
+    /**
+     * <p>Records the outline of a rectangle, see
+     * {@link ShapeDrawer#rectangle(float, float, float, float, float, float, JoinType)}.</p>
+     */
+    public void rectangle(float x, float y, float width, float height, float lineWidth, float rotation, JoinType joinType) {
+        start(CommandType.RECTANGLE);
+        params.add(x, y, width, height);
+        params.add(lineWidth, rotation, joinType.ordinal());
+        end();
+    }
+
+    /**
+     * <p>Records a filled rectangle, see {@link ShapeDrawer#filledRectangle(float, float, float, float, float)}.</p>
+     */
+    public void filledRectangle(float x, float y, float width, float height, float rotation) {
+        start(CommandType.FILLED_RECTANGLE);
+        params.add(x, y, width, height);
+        params.add(rotation);
+        end();
+    }
+
+    /**
+     * <p>Records a copy of a command from another buffer, with the colour it was recorded with.</p>
+     */
+    public void add(ShapeCommandBuffer buffer, int index) {
+        int i = 3 * index;
+        int start = buffer.commands.get(i + 1), end = buffer.commands.get(i + 2);
+        commands.add(buffer.commands.get(i));
+        commands.add(params.size);
+        params.addAll(buffer.params, start, end - start);
+        end();
+    }
+
+    /**
+     * <p>Moves the shape drawn by a command, by adding the offset to each of its points.</p>
+     */
+    void translate(int index, float dx, float dy) {
+        int i = 3 * index;
+        CommandType type = COMMAND_TYPES[commands.get(i)];
+        int p = commands.get(i + 1) + 1, end = commands.get(i + 2);
+        switch (type) {
+            case LINE:
+                translatePoints(p, p + 4, dx, dy);
+                break;
+            case PATH:
+                translatePoints(p + 3, end, dx, dy);
+                break;
+            case POLYGON:
+                translatePoints(p + 2, end, dx, dy);
+                break;
+            case FILLED_POLYGON:
+                translatePoints(p, end, dx, dy);
+                break;
+            case TRIANGLE:
+            case FILLED_TRIANGLE:
+                translatePoints(p, p + 6, dx, dy);
+                break;
+            default:
+                //the rest start with the centre or corner
+                translatePoints(p, p + 2, dx, dy);
+                break;
+        }
+    }
+
+    private void translatePoints(int start, int end, float dx, float dy) {
+        float[] f = params.items;
+        for (int i = start; i < end - 1; i += 2) {
+            f[i] += dx;
+            f[i + 1] += dy;
+        }
+    }
+
+    /**
+     * <p>Removes all commands. The memory used is kept, so a buffer can be cleared and recorded to again every frame
+     * without allocating.</p>
+     */
+    public void clear() {
+        commands.clear();
+        params.clear();
+    }
+
+    //================================================================================
+    // DRAWING
+    //================================================================================
+
+    /**
+     * <p>Draws all the commands in the order they were recorded.</p>
+     */
+    public void draw(ShapeDrawer drawer) {
+        boolean wasCaching = drawer.batchManager.startCaching();
+        float oldColor = drawer.getPackedColor();
+        for (int i = 0, n = getCommandCount(); i < n; i++) {
+            drawCommand(drawer, i);
+        }
+        drawer.setColor(oldColor);
+        if (!wasCaching) drawer.batchManager.endCaching();
+    }
+
+    /**
+     * <p>Draws the commands whose bounds overlap {@code visible}, in the order they were recorded.</p>
+     */
+    public void draw(ShapeDrawer drawer, Rectangle visible) {
+        boolean wasCaching = drawer.batchManager.startCaching();
+        float oldColor = drawer.getPackedColor();
+        for (int i = 0, n = getCommandCount(); i < n; i++) {
+            if (overlaps(i, visible)) drawCommand(drawer, i);
+        }
+        drawer.setColor(oldColor);
+        if (!wasCaching) drawer.batchManager.endCaching();
+    }
+
+    /**
+     * <p>Draws a single command, with its colour, and leaves the drawer set to the colour it had before.</p>
+     */
+    @Override
+    public void draw(ShapeDrawer drawer, int index) {
+        float oldColor = drawer.getPackedColor();
+        drawCommand(drawer, index);
+        drawer.setColor(oldColor);
+    }
+
+    void drawCommand(ShapeDrawer drawer, int index) {
+        int i = 3 * index;
+        CommandType type = COMMAND_TYPES[commands.get(i)];
+        int p = commands.get(i + 1), end = commands.get(i + 2);
+        float[] f = params.items;
+        float c = f[p++];
+        drawer.setColor(c);
+        switch (type) {
+            case LINE:
+                drawer.line(f[p], f[p + 1], f[p + 2], f[p + 3], f[p + 4], f[p + 5] != 0, c, c);
+                break;
+            case PATH:
+                drawer.path(f, p + 3, end, f[p], JOIN_TYPES[(int) f[p + 1]], f[p + 2] != 0);
+                break;
+            case POLYGON:
+                drawer.polygon(f, p + 2, end, f[p], JOIN_TYPES[(int) f[p + 1]]);
+                break;
+            case FILLED_POLYGON:
+                drawer.filledPolygon(f, p, end - p);
+                break;
+            case CIRCLE:
+                drawer.circle(f[p], f[p + 1], f[p + 2], f[p + 3], JOIN_TYPES[(int) f[p + 4]]);
+                break;
+            case FILLED_CIRCLE:
+                drawer.filledCircle(f[p], f[p + 1], f[p + 2]);
+                break;
+            case ELLIPSE:
+                drawer.ellipse(f[p], f[p + 1], f[p + 2], f[p + 3], f[p + 4], f[p + 5], JOIN_TYPES[(int) f[p + 6]]);
+                break;
+            case FILLED_ELLIPSE:
+                drawer.filledEllipse(f[p], f[p + 1], f[p + 2], f[p + 3], f[p + 4]);
+                break;
+            case ARC:
+                drawer.arc(f[p], f[p + 1], f[p + 2], f[p + 3], f[p + 4], f[p + 5], f[p + 6] != 0);
+                break;
+            case SECTOR:
+                drawer.sector(f[p], f[p + 1], f[p + 2], f[p + 3], f[p + 4]);
+                break;
+            case REGULAR_POLYGON:
+                drawer.polygon(f[p], f[p + 1], (int) f[p + 2], f[p + 3], f[p + 4], f[p + 5], f[p + 6], JOIN_TYPES[(int) f[p + 7]]);
+                break;
+            case FILLED_REGULAR_POLYGON:
+                drawer.filledPolygon(f[p], f[p + 1], (int) f[p + 2], f[p + 3], f[p + 4], f[p + 5]);
+                break;
+            case TRIANGLE:
+                drawer.triangle(f[p], f[p + 1], f[p + 2], f[p + 3], f[p + 4], f[p + 5], f[p + 6], JOIN_TYPES[(int) f[p + 7]], c);
+                break;
+            case FILLED_TRIANGLE:
+                drawer.filledTriangle(f[p], f[p + 1], f[p + 2], f[p + 3], f[p + 4], f[p + 5]);
+                break;
+            case RECTANGLE:
+                drawer.rectangle(f[p], f[p + 1], f[p + 2], f[p + 3], f[p + 4], f[p + 5], JOIN_TYPES[(int) f[p + 6]]);
+                break;
+            case FILLED_RECTANGLE:
+                drawer.filledRectangle(f[p], f[p + 1], f[p + 2], f[p + 3], f[p + 4]);
+                break;
+        }
+    }
+
+    //================================================================================
+    // BOUNDS
+    //================================================================================
+
+    private boolean overlaps(int index, Rectangle visible) {
+        getBounds(index, bounds);
+        return bounds.x <= visible.x + visible.width && bounds.x + bounds.width >= visible.x
+                && bounds.y <= visible.y + visible.height && bounds.y + bounds.height >= visible.y;
+    }
+
+    /**
+     * <p>Sets {@code bounds} to a rectangle containing the shape drawn by a command, including its line width. Lines are
+     * padded by half their width, and further where the shape has joins, as the mitre points of a join at a sharp angle
+     * are many half widths from the point. The bounds don't depend on the drawer, so they hold for any mitre limit and
+     * cap type.</p>
+     *
+     * @return {@code bounds}
+     */
+    public Rectangle getBounds(int index, Rectangle bounds) {
+        int i = 3 * index;
+        CommandType type = COMMAND_TYPES[commands.get(i)];
+        int p = commands.get(i + 1) + 1, end = commands.get(i + 2);
+        float[] f = params.items;
+        switch (type) {
+            case LINE:
+                pointBounds(f, p, p + 4, 0.5f * f[p + 4], bounds);
+                break;
+            case PATH:
+                pointBounds(f, p + 3, end, joinPad(f, p + 3, end, f[p], JOIN_TYPES[(int) f[p + 1]], f[p + 2] != 0), bounds);
+                break;
+            case POLYGON:
+                pointBounds(f, p + 2, end, joinPad(f, p + 2, end, f[p], JOIN_TYPES[(int) f[p + 1]], false), bounds);
+                break;
+            case FILLED_POLYGON:
+            case FILLED_TRIANGLE:
+                pointBounds(f, p, end, 0, bounds);
+                break;
+            case TRIANGLE:
+                pointBounds(f, p, p + 6, joinPad(f, p, p + 6, f[p + 6], JOIN_TYPES[(int) f[p + 7]], false), bounds);
+                break;
+            case CIRCLE:
+                ellipseBounds(f[p], f[p + 1], f[p + 2], f[p + 2], 0, ellipseJoinPad(0, f[p + 2], f[p + 2], f[p + 3], JOIN_TYPES[(int) f[p + 4]]), bounds);
+                break;
+            case FILLED_CIRCLE:
+                ellipseBounds(f[p], f[p + 1], f[p + 2], f[p + 2], 0, 0, bounds);
+                break;
+            case ELLIPSE:
+                ellipseBounds(f[p], f[p + 1], f[p + 2], f[p + 3], f[p + 4], ellipseJoinPad(0, f[p + 2], f[p + 3], f[p + 5], JOIN_TYPES[(int) f[p + 6]]), bounds);
+                break;
+            case FILLED_ELLIPSE:
+                ellipseBounds(f[p], f[p + 1], f[p + 2], f[p + 3], f[p + 4], 0, bounds);
+                break;
+            case ARC:
+                //an arc is part of a regular polygon with pointy joins, and like a path its ends get at least sqrt(2) half widths
+                float arcPad = ellipseJoinPad(0, f[p + 2], f[p + 2], f[p + 5], f[p + 6] != 0 ? JoinType.POINTY : JoinType.NONE);
+                ellipseBounds(f[p], f[p + 1], f[p + 2], f[p + 2], 0, Math.max(arcPad, ShapeUtils.SQRT2 * 0.5f * f[p + 5]), bounds);
+                break;
+            case SECTOR:
+                ellipseBounds(f[p], f[p + 1], f[p + 2], f[p + 2], 0, 0, bounds);
+                break;
+            case REGULAR_POLYGON:
+                ellipseBounds(f[p], f[p + 1], f[p + 3], f[p + 4], f[p + 5], ellipseJoinPad((int) f[p + 2], f[p + 3], f[p + 4], f[p + 6], JOIN_TYPES[(int) f[p + 7]]), bounds);
+                break;
+            case FILLED_REGULAR_POLYGON:
+                ellipseBounds(f[p], f[p + 1], f[p + 3], f[p + 4], f[p + 5], 0, bounds);
+                break;
+            case RECTANGLE:
+                rectangleBounds(f[p], f[p + 1], f[p + 2], f[p + 3], f[p + 5], 0.5f * f[p + 4], bounds);
+                break;
+            case FILLED_RECTANGLE:
+                rectangleBounds(f[p], f[p + 1], f[p + 2], f[p + 3], f[p + 4], 0, bounds);
+                break;
+        }
+        return bounds;
+    }
+
+    /**
+     * <p>Returns how far a line through the points reaches from them, as in {@link PathDrawer}: caps and the outside of
+     * bevelled or rounded joins reach no more than sqrt(2) half widths, but the inside point of every type of join is at
+     * the full mitre, so the longest mitre of any join is used if it is longer. A join where the path turns back on
+     * itself is always bevelled.</p>
+     */
+    private static float joinPad(float[] points, int start, int end, float lineWidth, JoinType joinType, boolean open) {
+        float ratio2 = 2;
+        if (joinType != JoinType.NONE) {
+            int n = (end - start) / 2;
+            for (int b = open ? 1 : 0, last = open ? n - 1 : n; b < last; b++) {
+                int ai = start + 2 * ((b + n - 1) % n), bi = start + 2 * b, ci = start + 2 * ((b + 1) % n);
+                float mitreRatio2 = Joiner.mitreRatio2(points[ai], points[ai + 1], points[bi], points[bi + 1], points[ci], points[ci + 1]);
+                if (mitreRatio2 != Float.POSITIVE_INFINITY) ratio2 = Math.max(ratio2, mitreRatio2);
+            }
+        }
+        return 0.5f * lineWidth * (float) Math.sqrt(ratio2);
+    }
+
+    /**
+     * <p>Returns how far the outline of a regular polygon reaches from the ellipse through its vertices, as in
+     * {@link PolygonDrawer}: the mitre of a join is 1/cos(pi/sides) half widths from its vertex, which is at most 2 when
+     * the number of sides is chosen by the drawer, and stretching the polygon makes it at most the ratio of the radii
+     * times longer.</p>
+     */
+    private static float ellipseJoinPad(int sides, float radiusX, float radiusY, float lineWidth, JoinType joinType) {
+        float halfLineWidth = 0.5f * lineWidth;
+        if (joinType == JoinType.NONE) return halfLineWidth;
+        float maxRadius = Math.max(Math.abs(radiusX), Math.abs(radiusY)), minRadius = Math.min(Math.abs(radiusX), Math.abs(radiusY));
+        float mitreRatio = sides >= 3 ? 1 / (float) Math.cos(Math.PI / sides) : 2;
+        return minRadius == 0 ? halfLineWidth : halfLineWidth * mitreRatio * maxRadius / minRadius;
+    }
+
+    private static void pointBounds(float[] points, int start, int end, float pad, Rectangle bounds) {
+        float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY;
+        for (int i = start; i < end - 1; i += 2) {
+            minX = Math.min(minX, points[i]);
+            maxX = Math.max(maxX, points[i]);
+            minY = Math.min(minY, points[i + 1]);
+            maxY = Math.max(maxY, points[i + 1]);
+        }
+        bounds.set(minX - pad, minY - pad, maxX - minX + 2 * pad, maxY - minY + 2 * pad);
+    }
+
+    private static void ellipseBounds(float centreX, float centreY, float radiusX, float radiusY, float rotation, float pad, Rectangle bounds) {
+        float halfWidth = Math.abs(radiusX), halfHeight = Math.abs(radiusY);
+        if (rotation != 0) {
+            float cos = (float) Math.cos(rotation), sin = (float) Math.sin(rotation);
+            halfWidth = (float) Math.sqrt(radiusX * radiusX * cos * cos + radiusY * radiusY * sin * sin);
+            halfHeight = (float) Math.sqrt(radiusX * radiusX * sin * sin + radiusY * radiusY * cos * cos);
+        }
+        halfWidth += pad;
+        halfHeight += pad;
+        bounds.set(centreX - halfWidth, centreY - halfHeight, 2 * halfWidth, 2 * halfHeight);
+    }
+
+    //the pad goes around the rectangle before it is rotated, as the outline of a rectangle is a larger rectangle
+    private static void rectangleBounds(float x, float y, float width, float height, float rotation, float pad, Rectangle bounds) {
+        float halfWidth = 0.5f * Math.abs(width) + pad, halfHeight = 0.5f * Math.abs(height) + pad;
+        float centreX = x + 0.5f * width, centreY = y + 0.5f * height;
+        if (rotation != 0) {
+            float cos = Math.abs((float) Math.cos(rotation)), sin = Math.abs((float) Math.sin(rotation));
+            float rotatedHalfWidth = halfWidth * cos + halfHeight * sin;
+            halfHeight = halfWidth * sin + halfHeight * cos;
+            halfWidth = rotatedHalfWidth;
+        }
+        bounds.set(centreX - halfWidth, centreY - halfHeight, 2 * halfWidth, 2 * halfHeight);
+    }
+
+    //================================================================================
+    // GETTERS AND SETTERS
+    //================================================================================
+
+    public int getCommandCount() {
+        return commands.size / 3;
+    }
+
+    public CommandType getCommandType(int index) {
+        return COMMAND_TYPES[commands.get(3 * index)];
+    }
+
+    /**
+     * @return the packed colour of a command
+     */
+    public float getColor(int index) {
+        return params.get(commands.get(3 * index + 1));
+    }
+
+    /**
+     * <p>Sets the colour of the commands recorded after this.</p>
+     *
+     * @return the old colour as a packed float
+     */
+    public float setColor(Color color) {
+        return setColor(color.toFloatBits());
+    }
+
+    /**
+     * <p>Sets the colour of the commands recorded after this.</p>
+     *
+     * @return the old colour as a packed float
+     */
+    public float setColor(float floatBits) {
+        float oldColor = color;
+        color = floatBits;
+        return oldColor;
+    }
+
+    public float getPackedColor() {
+        return color;
+    }
+
+}
@@ -11,6 +11,7 @@ import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.FloatArray;
 import com.badlogic.gdx.utils.ShortArray;
 
+import space.earlygrey.shapedrawer.ShapeUtils.ColorFunction;
 import space.earlygrey.shapedrawer.ShapeUtils.LineWidthFunction;
 import space.earlygrey.shapedrawer.shapes.Brush;
 import space.earlygrey.shapedrawer.shapes.Pen;
@@ -26,6 +27,11 @@ import space.earlygrey.shapedrawer.shapes.Pen;
  * <p>Note that the way filled shapes are drawn depends on whether you provide a batch implementing {@link com.badlogic.gdx.graphics.g2d.PolygonBatch}
  * (eg a {@link com.badlogic.gdx.graphics.g2d.PolygonSpriteBatch}) or not (eg a {@link com.badlogic.gdx.graphics.g2d.SpriteBatch}).
  * Filled polygon drawing is more efficient with a PolygonBatch, and if possible this is recommended.</p>
+ * <p>A ShapeDrawer is not thread safe, but separate ShapeDrawers share no state, so each can be used on its own thread
+ * with its own batch, for example to build geometry for several FrameBuffers in parallel. Note that only the thread
+ * that owns the OpenGL context can flush a batch to the GPU.</p>
+ * <p>When most shapes are off the screen, such as in a zoomed in map, enable {@link #setCulling(boolean) culling} so that
+ * they are skipped before their vertices are calculated.</p>
  *
  * @author earlygrey
  */
@@ -48,7 +54,22 @@ public class ShapeDrawer extends AbstractShapeDrawer {
     }
 
     public ShapeDrawer(Batch batch, TextureRegion region, SideEstimator sideEstimator) {
-        super(batch, region, sideEstimator);
+        this(batch, region, sideEstimator, BatchManager.DEFAULT_VERTEX_CAPACITY);
+    }
+
+    /**
+     * <p>Creates a ShapeDrawer whose vertex cache initially has room for {@code vertexCapacity} vertices. The cache is
+     * sent to the Batch when it is full and grows when a single shape needs more room, so sizing it for the largest
+     * frame expected avoids both. The default is 400. When using a PolygonBatch this should be no more than the size
+     * the PolygonBatch was created with, and can't be more than 32767, as triangles are indexed with shorts.</p>
+     *
+     * @param batch          the batch used for drawing
+     * @param region         the texture region used for drawing
+     * @param sideEstimator  the {@link SideEstimator} used for curved shapes
+     * @param vertexCapacity the initial number of vertices the vertex cache can hold
+     */
+    public ShapeDrawer(Batch batch, TextureRegion region, SideEstimator sideEstimator, int vertexCapacity) {
+        super(batch, region, sideEstimator, vertexCapacity);
         pen = new Pen(this);
         brush = new Brush(this);
     }
@@ -266,6 +287,32 @@ public class ShapeDrawer extends AbstractShapeDrawer {
         lineDrawer.line(x1, y1, x2, y2, lineWidth, snap, color1, color2);
     }
 
+    /**
+     * <p>Calls {@link #lines(float[], int, int, float, float[])} for all the lines in {@code segments}, using the drawer's colour.</p>
+     *
+     * @param segments  the start and end points of each line, in the form [x1, y1, x2, y2, ...]
+     * @param lineWidth the width of the lines in world units
+     */
+    public void lines(float[] segments, float lineWidth) {
+        lines(segments, 0, segments.length / 4, lineWidth, null);
+    }
+
+    /**
+     * <p>Draws {@code count} independent lines of the same width. This is much faster than calling
+     * {@link #line(float, float, float, float, float)} for each line when drawing many lines, such as the edges of a graph
+     * or a grid, as space in the vertex cache is reserved for all the lines at once and they are sent to the Batch together.
+     * Unlike {@link #line(float, float, float, float, float, boolean)}, lines are not snapped to pixels.</p>
+     *
+     * @param segments  the start and end points of each line, in the form [x1, y1, x2, y2, ...]
+     * @param offset    the index in {@code segments} of the x-coordinate of the start of the first line
+     * @param count     the number of lines to draw
+     * @param lineWidth the width of the lines in world units
+     * @param colors    the packed colour of each line, starting from the first line drawn, or null to use the drawer's colour
+     */
+    public void lines(float[] segments, int offset, int count, float lineWidth, float[] colors) {
+        lineDrawer.lines(segments, offset, count, lineWidth, colors);
+    }
+
     //=======================================
     //                PATHS
     //=======================================
@@ -336,7 +383,8 @@ public class ShapeDrawer extends AbstractShapeDrawer {
      * <p>Draws a path by drawing a line between each point and the next.</p>
      * <p>The points at which two lines connect can be mitered to give a smooth join, see {@link JoinType} for the types of mitre.
      * Note that this may cause strange looking joins when the angle between connected lines approaches &pi;, as the miter
-     * can get arbitratily long. For thin lines where the mitre cannot be seen, you can set {@code joinType} to {@link JoinType#NONE}.</p>
+     * can get arbitratily long. To limit the length of mitres see {@link #setMitreLimit(float)}.
+     * For thin lines where the mitre cannot be seen, you can set {@code joinType} to {@link JoinType#NONE}.</p>
      * <p>Only a subset of the path containing unique consecutive points (up to some small error) will be considerered.
      * For example, the paths [(0,0), (1.0001,1), (1,1), (2,2)] and [(0,0), (1,1), (2,2)] will be drawn identically. </p>
      * <p>If {@code path} is empty nothing will be drawn, if it contains two points {@link #line(float, float, float, float, float, boolean)}
@@ -410,6 +458,134 @@ public class ShapeDrawer extends AbstractShapeDrawer {
         pathDrawer.path(path, start, end, lineWidth, joinType, open, offsetX, offsetY, scaleX, scaleY);
     }
 
+    /**
+     * <p>Draws a path with a line width given for each point, for example calculated using
+     * {@link ShapeUtils#sampleLineWidths(LineWidthFunction, float[], int, float[])}. Unlike drawing with a
+     * {@link LineWidthFunction}, the path is not measured and no function is called for each point, so if the widths
+     * don't change between frames they only need to be calculated once.
+     * See {@link #path(float[], int, int, float, JoinType, boolean)} for other details.</p>
+     *
+     * @param path       an {@code float[]} containing the ordered points in the path
+     * @param start      the index of {@code path} which represents the first point to draw, inclusive
+     * @param end        the index of {@code path} which represents the last point to draw, exclusive
+     * @param lineWidths the width of the line at each point, where {@code lineWidths[i]} is the width at the point
+     *                   starting at index {@code start + 2 * i} of {@code path}
+     * @param joinType   see {@link JoinType} the type of join, see method description
+     * @param open       if false then the first and last points are connected
+     */
+    public void path(float[] path, int start, int end, float[] lineWidths, JoinType joinType, boolean open) {
+        pathDrawer.path(path, start, end, lineWidths, joinType, open);
+    }
+
+    /**
+     * <p>Draws a path with a packed colour given for each point, for example calculated using
+     * {@link ShapeUtils#sampleColors(ColorFunction, float[], int, float[])}. The colour is blended along each line between
+     * the colours of its points, and joins and caps take the colour of their point. The colour of the drawer is not used,
+     * and the path is drawn in the same pass and batch as a path of one colour.
+     * See {@link #path(float[], int, int, float, JoinType, boolean)} for other details.</p>
+     *
+     * @param path      an {@code float[]} containing the ordered points in the path
+     * @param start     the index of {@code path} which represents the first point to draw, inclusive
+     * @param end       the index of {@code path} which represents the last point to draw, exclusive
+     * @param lineWidth the width of each line in world units
+     * @param joinType  see {@link JoinType} the type of join, see method description
+     * @param open      if false then the first and last points are connected
+     * @param colors    the packed colour at each point, where {@code colors[i]} is the colour of the point starting at
+     *                  index {@code start + 2 * i} of {@code path}
+     */
+    public void path(float[] path, int start, int end, float lineWidth, JoinType joinType, boolean open, float[] colors) {
+        pathDrawer.path(path, start, end, lineWidth, joinType, open, colors);
+    }
+
+    /**
+     * <p>Draws a path with the colour at each point given by a {@link ColorFunction}, which is called with the fraction of
+     * the length of the path drawn up to that point, so a gradient along the path can be drawn with
+     * {@link ShapeUtils#lerpColor(float, float, float)}. See {@link #path(float[], int, int, float, JoinType, boolean, float[])}
+     * for other details.</p>
+     *
+     * @param path      an {@code float[]} containing the ordered points in the path
+     * @param start     the index of {@code path} which represents the first point to draw, inclusive
+     * @param end       the index of {@code path} which represents the last point to draw, exclusive
+     * @param lineWidth the width of each line in world units
+     * @param joinType  see {@link JoinType} the type of join, see method description
+     * @param open      if false then the first and last points are connected
+     * @param color     the function giving the packed colour at each point
+     */
+    public void path(float[] path, int start, int end, float lineWidth, JoinType joinType, boolean open, ColorFunction color) {
+        pathDrawer.path(path, start, end, lineWidth, joinType, open, color);
+    }
+
+    /**
+     * <p>Draws a dashed path. The dash pattern gives the lengths of alternating dashes and gaps, in world units, measured
+     * along the path starting from the first point. If it has an odd number of lengths, it is repeated to give an even number.
+     * The phase is the distance into the pattern at which the path starts, so changing it each frame moves the dashes along
+     * the path.</p>
+     * <p>Each dash is drawn as an open path using {@code joinType}, so dashes that contain path points are joined, and each
+     * dash gets the cap type set by {@link #setCapType(CapType)}. A dash length of 0 with {@link CapType#ROUND} caps draws
+     * a dot, so for example a pattern of {0, 3 * lineWidth} gives a dotted line. All dashes are pushed to the batch together.
+     * No length in the pattern may be negative, and they must not all be 0, otherwise an {@link IllegalArgumentException}
+     * is thrown.
+     * See {@link #path(Iterable, float, JoinType, boolean)} for other details.</p>
+     *
+     * @param path        an {@code Iterable<T>} containing the ordered points in the path
+     * @param lineWidth   the width of each line in world units
+     * @param joinType    see {@link JoinType} the type of join, see method description
+     * @param open        if false then the first and last points are connected
+     * @param dashPattern the lengths of the dashes and gaps, alternating and starting with a dash
+     * @param dashPhase   the distance into the dash pattern at which to start
+     */
+    public <T extends Vector2> void path(Iterable<T> path, float lineWidth, JoinType joinType, boolean open, float[] dashPattern, float dashPhase) {
+        pathDrawer.path(path, lineWidth, joinType, open, dashPattern, dashPhase);
+    }
+
+    /**
+     * <p>Draws a dashed path. See {@link #path(Iterable, float, JoinType, boolean, float[], float)} for details.</p>
+     *
+     * @param path        an {@code float[]} containing the ordered points in the path
+     * @param lineWidth   the width of each line in world units
+     * @param joinType    see {@link JoinType} the type of join, see method description
+     * @param open        if false then the first and last points are connected
+     * @param dashPattern the lengths of the dashes and gaps, alternating and starting with a dash
+     * @param dashPhase   the distance into the dash pattern at which to start
+     */
+    public void path(float[] path, float lineWidth, JoinType joinType, boolean open, float[] dashPattern, float dashPhase) {
+        pathDrawer.path(path, 0, path.length, lineWidth, joinType, open, dashPattern, dashPhase);
+    }
+
+    /**
+     * <p>Draws a dashed path. See {@link #path(Iterable, float, JoinType, boolean, float[], float)} for details.</p>
+     *
+     * @param path        an {@code float[]} containing the ordered points in the path
+     * @param start       the index of {@code path} which represents the first point to draw, inclusive
+     * @param end         the index of {@code path} which represents the last point to draw, exclusive
+     * @param lineWidth   the width of each line in world units
+     * @param joinType    see {@link JoinType} the type of join, see method description
+     * @param open        if false then the first and last points are connected
+     * @param dashPattern the lengths of the dashes and gaps, alternating and starting with a dash
+     * @param dashPhase   the distance into the dash pattern at which to start
+     */
+    public void path(float[] path, int start, int end, float lineWidth, JoinType joinType, boolean open, float[] dashPattern, float dashPhase) {
+        pathDrawer.path(path, start, end, lineWidth, joinType, open, dashPattern, dashPhase);
+    }
+
+    /**
+     * <p>Draws a dashed path with a line width that varies along it, as given by a {@link LineWidthFunction}. The pattern
+     * is measured along the path in world units, the same as for a constant width.
+     * See {@link #path(Iterable, float, JoinType, boolean, float[], float)} for other details.</p>
+     *
+     * @param path        an {@code float[]} containing the ordered points in the path
+     * @param start       the index of {@code path} which represents the first point to draw, inclusive
+     * @param end         the index of {@code path} which represents the last point to draw, exclusive
+     * @param lineWidth   the function giving the width of the line at each point
+     * @param joinType    see {@link JoinType} the type of join, see method description
+     * @param open        if false then the first and last points are connected
+     * @param dashPattern the lengths of the dashes and gaps, alternating and starting with a dash
+     * @param dashPhase   the distance into the dash pattern at which to start
+     */
+    public void path(float[] path, int start, int end, LineWidthFunction lineWidth, JoinType joinType, boolean open, float[] dashPattern, float dashPhase) {
+        pathDrawer.path(path, start, end, lineWidth, joinType, open, 0, 0, 1, 1, dashPattern, dashPhase);
+    }
+
     //=======================================
     //          CIRCLES AND ELLIPSES
     //=======================================
@@ -494,6 +670,36 @@ public class ShapeDrawer extends AbstractShapeDrawer {
         ellipse(centreX, centreY, radius, radius, 0, lineWidth, joinType);
     }
 
+    /**
+     * <p>Draws {@code count} circles, caching the vertices of all of them so that they are sent to the Batch together.
+     * This is faster than calling {@link #circle(float, float, float, float)} for each circle. The number of sides is
+     * only estimated again when the radius changes from one circle to the next.</p>
+     *
+     * @param centres   the coordinates of the centre of each circle, in the form [x0, y0, x1, y1, ...]
+     * @param radii     the radius of each circle
+     * @param lineWidth the width of the line in world units
+     * @param colors    the packed colour of each circle, or null to use the drawer's colour for all of them
+     * @param count     the number of circles to draw
+     */
+    public void circles(float[] centres, float[] radii, float lineWidth, float[] colors, int count) {
+        JoinType joinType = isJoinNecessary(lineWidth) ? JoinType.SMOOTH : JoinType.NONE;
+        float oldColor = batchManager.floatBits;
+        boolean wasCaching = batchManager.startCaching();
+        float lastRadius = Float.NaN;
+        int sides = 0;
+        for (int i = 0; i < count; i++) {
+            float radius = radii[i];
+            if (radius != lastRadius) {
+                sides = estimateSidesRequired(radius, radius, lineWidth);
+                lastRadius = radius;
+            }
+            if (colors != null) batchManager.floatBits = colors[i];
+            polygonDrawer.polygon(centres[2 * i], centres[2 * i + 1], sides, radius, radius, 0, lineWidth, joinType, 0, ShapeUtils.PI2);
+        }
+        if (!wasCaching) batchManager.endCaching();
+        batchManager.floatBits = oldColor;
+    }
+
     /**
      * <p>Calls {@link #ellipse(float, float, float, float, float, float)} with rotation set to 0 and default line width.</p>
      *
@@ -536,7 +742,7 @@ public class ShapeDrawer extends AbstractShapeDrawer {
 
     /**
      * <p>Draws an ellipse as a stretched regular polygon, estimating the number of sides required
-     * (see {@link #estimateSidesRequired(float, float)}) to appear smooth enough based on the
+     * (see {@link #estimateSidesRequired(float, float, float)}) to appear smooth enough based on the
      * pixel size that has been set. Calls {@link #polygon(float, float, int, float, float, float, JoinType)}.</p>
      *
      * @param centreX   the x-coordinate of the centre point
@@ -548,7 +754,7 @@ public class ShapeDrawer extends AbstractShapeDrawer {
      * @param joinType  the type of join, see {@link JoinType}
      */
     public void ellipse(float centreX, float centreY, float radiusX, float radiusY, float rotation, float lineWidth, JoinType joinType) {
-        polygon(centreX, centreY, estimateSidesRequired(radiusX, radiusY), radiusX, radiusY, rotation, lineWidth, joinType);
+        polygon(centreX, centreY, estimateSidesRequired(radiusX, radiusY, lineWidth), radiusX, radiusY, rotation, lineWidth, joinType);
     }
 
     //====================
@@ -649,7 +855,8 @@ public class ShapeDrawer extends AbstractShapeDrawer {
     /**
      * <p>Draws an ellipse as a stretched regular polygon, estimating the number of sides required
      * (see {@link #estimateSidesRequired(float, float)}) to appear smooth enough based on the
-     * pixel size that has been set.</p>
+     * pixel size that has been set. If the ellipse is a single colour and no larger than the dot radius it is drawn
+     * with a few vertices instead, see {@link #setDotRadius(float)}.</p>
      *
      * @param centreX    the x-coordinate of the centre point
      * @param centreY    the y-coordinate of the centre point
@@ -660,9 +867,45 @@ public class ShapeDrawer extends AbstractShapeDrawer {
      * @param outerColor the packed colour of the perimeter of the ellipse
      */
     public void filledEllipse(float centreX, float centreY, float radiusX, float radiusY, float rotation, float innerColor, float outerColor) {
+        if (innerColor == outerColor && Math.max(Math.abs(radiusX), Math.abs(radiusY)) <= dotRadius * getPixelSize()) {
+            filledPolygonDrawer.dot(centreX, centreY, radiusX, radiusY, rotation, innerColor);
+            return;
+        }
         filledPolygonDrawer.polygon(centreX, centreY, estimateSidesRequired(radiusX, radiusY), radiusX, radiusY, rotation, 0, ShapeUtils.PI2, innerColor, outerColor);
     }
 
+    /**
+     * <p>Draws {@code count} filled circles, caching the vertices of all of them so that they are sent to the Batch together.
+     * This is faster than calling {@link #filledCircle(float, float, float)} for each circle. The number of sides is
+     * only estimated again when the radius changes from one circle to the next, and circles no larger than the dot radius
+     * are drawn as dots, see {@link #setDotRadius(float)}.</p>
+     *
+     * @param centres the coordinates of the centre of each circle, in the form [x0, y0, x1, y1, ...]
+     * @param radii   the radius of each circle
+     * @param colors  the packed colour of each circle, or null to use the drawer's colour for all of them
+     * @param count   the number of circles to draw
+     */
+    public void filledCircles(float[] centres, float[] radii, float[] colors, int count) {
+        float maxDotRadius = dotRadius * getPixelSize();
+        boolean wasCaching = batchManager.startCaching();
+        float lastRadius = Float.NaN;
+        int sides = 0;
+        for (int i = 0; i < count; i++) {
+            float x = centres[2 * i], y = centres[2 * i + 1], radius = radii[i];
+            float color = colors == null ? batchManager.floatBits : colors[i];
+            if (Math.abs(radius) <= maxDotRadius) {
+                filledPolygonDrawer.dot(x, y, radius, radius, 0, color);
+                continue;
+            }
+            if (radius != lastRadius) {
+                sides = estimateSidesRequired(radius, radius);
+                lastRadius = radius;
+            }
+            filledPolygonDrawer.polygon(x, y, sides, radius, radius, 0, 0, ShapeUtils.PI2, color, color);
+        }
+        if (!wasCaching) batchManager.endCaching();
+    }
+
     //=======================================
     //          PARTIAL ELLIPSES
     //=======================================
@@ -699,7 +942,7 @@ public class ShapeDrawer extends AbstractShapeDrawer {
     }
 
     /**
-     * <p>Calls {@link #arc(float, float, float, float, float, float, boolean, int)} with the number of sides estimated by {@link #estimateSidesRequired(float, float)}.</p>
+     * <p>Calls {@link #arc(float, float, float, float, float, float, boolean, int)} with the number of sides estimated by {@link #estimateSidesRequired(float, float, float)}.</p>
      *
      * @param centreX    the x-coordinate of the centre point
      * @param centreY    the y-coordinate of the centre point
@@ -710,7 +953,7 @@ public class ShapeDrawer extends AbstractShapeDrawer {
      * @param useJoin    whether to use a join type, either {@link JoinType#POINTY} or none. See {@link #isJoinNecessary(float)}
      */
     public void arc(float centreX, float centreY, float radius, float startAngle, float radians, float lineWidth, boolean useJoin) {
-        arc(centreX, centreY, radius, startAngle, radians, lineWidth, useJoin, estimateSidesRequired(radius, radius));
+        arc(centreX, centreY, radius, startAngle, radians, lineWidth, useJoin, estimateSidesRequired(radius, radius, lineWidth));
     }
 
     /**
@@ -1077,6 +1320,36 @@ public class ShapeDrawer extends AbstractShapeDrawer {
         pathDrawer.path(vertices, start, end, lineWidth, joinType, false);
     }
 
+    /**
+     * <p>Draws the boundary of the polygon with a packed colour given for each vertex, which is blended along each edge.
+     * See {@link #path(float[], int, int, float, JoinType, boolean, float[])}.</p>
+     *
+     * @param vertices  consecutive ordered pairs of the x-y coordinates of the vertices of the polygon
+     * @param start     the index of {@code vertices} which represents the first vertex to draw, inclusive
+     * @param end       the index of {@code vertices} which represents the last vertex to draw, exclusive
+     * @param lineWidth the line width
+     * @param joinType  the type of join, see {@link JoinType}
+     * @param colors    the packed colour at each vertex
+     */
+    public void polygon(float[] vertices, int start, int end, float lineWidth, JoinType joinType, float[] colors) {
+        pathDrawer.path(vertices, start, end, lineWidth, joinType, false, colors);
+    }
+
+    /**
+     * <p>Draws the boundary of the polygon with the colour at each vertex given by a {@link ColorFunction}.
+     * See {@link #path(float[], int, int, float, JoinType, boolean, ColorFunction)}.</p>
+     *
+     * @param vertices  consecutive ordered pairs of the x-y coordinates of the vertices of the polygon
+     * @param start     the index of {@code vertices} which represents the first vertex to draw, inclusive
+     * @param end       the index of {@code vertices} which represents the last vertex to draw, exclusive
+     * @param lineWidth the line width
+     * @param joinType  the type of join, see {@link JoinType}
+     * @param color     the function giving the packed colour at each vertex
+     */
+    public void polygon(float[] vertices, int start, int end, float lineWidth, JoinType joinType, ColorFunction color) {
+        pathDrawer.path(vertices, start, end, lineWidth, joinType, false, color);
+    }
+
 
     //====================
     //     FILLED
@@ -1085,8 +1358,9 @@ public class ShapeDrawer extends AbstractShapeDrawer {
 
     /**
      * <p>Draws a filled polygon.</p>
-     * <p>Note: this triangulates the polygon every time it is called - it is recommended to cache
-     * the triangles and use {@link #filledPolygon(Polygon, short[])} or {@link #filledPolygon(Polygon, ShortArray)} instead.
+     * <p>Note: this triangulates the polygon using the {@link #getTriangulator() triangulator}, but the triangles of the
+     * last few polygons drawn this way are cached and reused while their vertices are unchanged. If drawing many different polygons it is recommended to cache the
+     * triangles and use {@link #filledPolygon(Polygon, short[])} or {@link #filledPolygon(Polygon, ShortArray)} instead.
      * You can use something like {@link com.badlogic.gdx.math.EarClippingTriangulator#computeTriangles(float[])} to calculate the triangles.</p>
      *
      * @param polygon the polygon to draw
@@ -1097,8 +1371,9 @@ public class ShapeDrawer extends AbstractShapeDrawer {
 
     /**
      * <p>Draws a filled polygon using the specified vertices.</p>
-     * <p>Note: this triangulates the polygon every time it is called - it is recommended to cache
-     * the triangles and use {@link #filledPolygon(float[], short[])} or {@link #filledPolygon(float[], ShortArray)} instead.
+     * <p>Note: this triangulates the polygon using the {@link #getTriangulator() triangulator}, but the triangles of the
+     * last few polygons drawn this way are cached and reused while their vertices are unchanged. If drawing many different polygons it is recommended to cache the
+     * triangles and use {@link #filledPolygon(float[], short[])} or {@link #filledPolygon(float[], ShortArray)} instead.
      * You can use something like {@link com.badlogic.gdx.math.EarClippingTriangulator#computeTriangles(float[])} to calculate the triangles.</p>
      *
      * @param vertices consecutive ordered pairs of the x-y coordinates of the vertices of the polygon
@@ -1109,8 +1384,9 @@ public class ShapeDrawer extends AbstractShapeDrawer {
 
     /**
      * <p>Draws a filled polygon using the specified vertices.</p>
-     * <p>Note: this triangulates the polygon every time it is called - it is recommended to cache
-     * the triangles and use {@link #filledPolygon(float[], short[])} or {@link #filledPolygon(float[], ShortArray)} instead.
+     * <p>Note: this triangulates the polygon using the {@link #getTriangulator() triangulator}, but the triangles of the
+     * last few polygons drawn this way are cached and reused while their vertices are unchanged. If drawing many different polygons it is recommended to cache the
+     * triangles and use {@link #filledPolygon(float[], short[])} or {@link #filledPolygon(float[], ShortArray)} instead.
      * You can use something like {@link com.badlogic.gdx.math.EarClippingTriangulator#computeTriangles(float[])} to calculate the triangles.</p>
      *
      * @param vertices consecutive ordered pairs of the x-y coordinates of the vertices of the polygon
@@ -1121,6 +1397,21 @@ public class ShapeDrawer extends AbstractShapeDrawer {
         filledPolygonDrawer.polygon(vertices, offset, count);
     }
 
+    /**
+     * <p>Draws a filled polygon using the specified vertices, offset and scaled. See {@link #filledPolygon(float[], int, int)}.</p>
+     *
+     * @param vertices consecutive ordered pairs of the x-y coordinates of the vertices of the polygon
+     * @param offset   the index of the vertices float[] at which to start drawing
+     * @param count    the number of vertices to draw from the offset
+     * @param offsetX  the x-offset of the vertices
+     * @param offsetY  the y-offset of the vertices
+     * @param scaleX   the x-scale of the vertices
+     * @param scaleY   the y-scale of the vertices
+     */
+    public void filledPolygon(float[] vertices, int offset, int count, float offsetX, float offsetY, float scaleX, float scaleY) {
+        filledPolygonDrawer.polygon(vertices, offset, count, offsetX, offsetY, scaleX, scaleY);
+    }
+
     /**
      * <p>Draws a filled polygon using the specified vertices.</p>
      *
@@ -1637,6 +1928,7 @@ public class ShapeDrawer extends AbstractShapeDrawer {
         if (joinType == JoinType.POINTY && Math.abs(rotation) < MathUtils.FLOAT_ROUNDING_ERROR) {
             float halfWidth = 0.5f * lineWidth;
             float X = x + width, Y = y + height;
+            if (isCulled(Math.min(x, X) - halfWidth, Math.min(y, Y) - halfWidth, Math.max(x, X) + halfWidth, Math.max(y, Y) + halfWidth)) return;
             boolean caching = batchManager.isCachingDraws();
             lineDrawer.pushLine(x + halfWidth, y, X - halfWidth, y, lineWidth, false);//bottom
             lineDrawer.pushLine(x + halfWidth, Y, X - halfWidth, Y, lineWidth, false);//top
@@ -1674,6 +1966,28 @@ public class ShapeDrawer extends AbstractShapeDrawer {
         path(rectangleCorners, lineWidth, joinType, false);
     }
 
+    /**
+     * <p>Draws {@code count} rectangles with {@link JoinType#POINTY} joins, caching the vertices of all of them so that
+     * they are sent to the Batch together. This is faster than calling {@link #rectangle(float, float, float, float, float)}
+     * for each rectangle.</p>
+     *
+     * @param rectangles the bottom left corner and size of each rectangle, in the form [x0, y0, width0, height0, x1, ...]
+     * @param lineWidth  the width of the line in world units
+     * @param colors     the packed colour of each rectangle, or null to use the drawer's colour for all of them
+     * @param count      the number of rectangles to draw
+     */
+    public void rectangles(float[] rectangles, float lineWidth, float[] colors, int count) {
+        float oldColor = batchManager.floatBits;
+        boolean wasCaching = batchManager.startCaching();
+        for (int i = 0; i < count; i++) {
+            if (colors != null) batchManager.floatBits = colors[i];
+            int j = 4 * i;
+            rectangle(rectangles[j], rectangles[j + 1], rectangles[j + 2], rectangles[j + 3], lineWidth, 0, JoinType.POINTY);
+        }
+        if (!wasCaching) batchManager.endCaching();
+        batchManager.floatBits = oldColor;
+    }
+
 
     //====================
     //     FILLED
@@ -1871,4 +2185,22 @@ public class ShapeDrawer extends AbstractShapeDrawer {
         filledPolygonDrawer.rectangle(x, y, width, height, rotation, c1, c2, c3, c4);
     }
 
+    /**
+     * <p>Draws {@code count} filled rectangles, caching the vertices of all of them so that they are sent to the Batch together.
+     * This is faster than calling {@link #filledRectangle(float, float, float, float)} for each rectangle.</p>
+     *
+     * @param rectangles the bottom left corner and size of each rectangle, in the form [x0, y0, width0, height0, x1, ...]
+     * @param colors     the packed colour of each rectangle, or null to use the drawer's colour for all of them
+     * @param count      the number of rectangles to draw
+     */
+    public void filledRectangles(float[] rectangles, float[] colors, int count) {
+        boolean wasCaching = batchManager.startCaching();
+        for (int i = 0; i < count; i++) {
+            float c = colors == null ? batchManager.floatBits : colors[i];
+            int j = 4 * i;
+            filledPolygonDrawer.rectangle(rectangles[j], rectangles[j + 1], rectangles[j + 2], rectangles[j + 3], 0, c, c, c, c);
+        }
+        if (!wasCaching) batchManager.endCaching();
+    }
+
 }
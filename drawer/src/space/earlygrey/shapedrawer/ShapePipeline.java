@@ -0,0 +1,126 @@
+package space.earlygrey.shapedrawer;
+
+/**
+ * <p>Passes frames of shapes from a thread that calculates them, such as a simulation thread, to the thread that owns the
+ * batch, without either waiting for the other. The producing thread draws each frame with its own {@link ShapeDrawer},
+ * from {@link #getDrawer()}, between {@link #begin()} and {@link #end()}, which records the vertices into one of a ring
+ * of reusable {@link Drawing}s. Each call to {@link #draw()} on the batch thread draws the newest finished frame, or the
+ * previous one again if there isn't a newer one yet. Shapes recorded in a {@link ShapeCommandBuffer} can be turned into
+ * a frame with {@link ShapeCommandBuffer#draw(ShapeDrawer)}.</p>
+ *
+ * <p>With two buffers, a frame can be recorded while the last one is drawn. With three, the default, a frame can also be
+ * waiting to be drawn, so the producer rarely has to skip a frame. Frames are handed over with two counters, each only
+ * written by one of the threads, so there are no locks.</p>
+ *
+ * <p>The producing drawer has its own settings, which should only be changed on the producing thread. In particular its
+ * pixel size is not updated from the batch, so it has to be set with {@link ShapeDrawer#setPixelSize(float)}.</p>
+ */
+
+public class ShapePipeline {
+
+    private final ShapeDrawer consumer, producer;
+    private final Drawing[] frames;
+
+    //the number of frames finished by the producer, and the number taken by the consumer, only written by those threads
+    private volatile long produced = 0, consumed = 0;
+
+    private boolean recording = false;
+
+    //================================================================================
+    // CONSTRUCTOR
+    //================================================================================
+
+    /**
+     * <p>Creates a triple buffered pipeline.</p>
+     *
+     * @param drawer the ShapeDrawer whose batch the frames are drawn with
+     */
+    public ShapePipeline(ShapeDrawer drawer) {
+        this(drawer, 3);
+    }
+
+    /**
+     * @param drawer  the ShapeDrawer whose batch the frames are drawn with
+     * @param buffers the number of frames in the ring, at least 2
+     */
+    public ShapePipeline(ShapeDrawer drawer, int buffers) {
+        if (buffers < 2) throw new IllegalArgumentException("A pipeline needs at least 2 buffers, was " + buffers);
+        consumer = drawer;
+        producer = new ShapeDrawer(drawer.getBatch(), drawer.getRegion(), drawer.getSideEstimator(), drawer.getVertexCapacity());
+        producer.setPixelSize(drawer.getPixelSize());
+        frames = new Drawing[buffers];
+    }
+
+    //================================================================================
+    // PRODUCER
+    //================================================================================
+
+    /**
+     * <p>Starts recording a frame, to be called on the producing thread. Shapes drawn with {@link #getDrawer()} until
+     * {@link #end()} make up the frame.</p>
+     *
+     * @return false if every buffer is either waiting to be drawn or being drawn, in which case nothing is recorded and
+     * this frame should be skipped
+     */
+    public boolean begin() {
+        if (recording) throw new IllegalStateException("begin() has already been called");
+        //the frame last taken by the consumer may still be being drawn, so it can't be written to either
+        if (produced - consumed >= frames.length - 1) return false;
+        Drawing frame = frames[(int) (produced % frames.length)];
+        if (frame == null) {
+            producer.startRecording();
+        } else {
+            producer.startRecording(frame);
+        }
+        recording = true;
+        return true;
+    }
+
+    /**
+     * <p>Finishes the frame started with {@link #begin()} and makes it available to {@link #draw()}.</p>
+     */
+    public void end() {
+        if (!recording) throw new IllegalStateException("begin() must be called before end()");
+        frames[(int) (produced % frames.length)] = producer.stopRecording();
+        recording = false;
+        //publishes the frame, the write to the volatile counter happens after the frame is recorded
+        produced++;
+    }
+
+    /**
+     * @return the ShapeDrawer that frames are drawn with on the producing thread
+     */
+    public ShapeDrawer getDrawer() {
+        return producer;
+    }
+
+    //================================================================================
+    // CONSUMER
+    //================================================================================
+
+    /**
+     * <p>Draws the newest finished frame, to be called on the thread that owns the batch, between {@link
+     * com.badlogic.gdx.graphics.g2d.Batch#begin()} and {@link com.badlogic.gdx.graphics.g2d.Batch#end()}. Older frames
+     * that were never drawn are skipped. If no frame has been finished since the last call, the same frame is drawn
+     * again. Anything the ShapeDrawer given to the constructor has drawn but not yet sent to the batch is sent first.</p>
+     *
+     * @return false if no frame has been finished yet
+     */
+    public boolean draw() {
+        long latest = produced;
+        if (latest == 0) return false;
+        //the frame is drawn before consumed is next updated, so the producer won't record into it meanwhile
+        if (latest > consumed) consumed = latest;
+        //the frame is drawn through the consumer, as the producer and its vertex cache belong to the other thread
+        consumer.draw(frames[(int) ((latest - 1) % frames.length)]);
+        return true;
+    }
+
+    /**
+     * @return whether a frame has been finished that hasn't been drawn yet
+     */
+    public boolean hasNewFrame() {
+        return produced > consumed;
+    }
+
+}
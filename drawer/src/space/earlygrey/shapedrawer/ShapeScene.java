@@ -0,0 +1,540 @@
+package space.earlygrey.shapedrawer;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.BooleanArray;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongMap;
+
+import java.util.Arrays;
+
+/**
+ * <p>Holds shapes that are drawn every frame, such as the roads and buildings of a map, and draws only those that overlap
+ * the area on the screen. The shapes are stored as {@link ShapeCommandBuffer} commands, and are indexed in a uniform grid
+ * of square cells by their bounds, so finding the visible shapes takes time in proportion to the number of cells on the
+ * screen rather than the size of the scene. Shapes can be added, removed and moved at any time, and are identified by
+ * the handle returned when they were added.</p>
+ *
+ * <p>{@link #draw(ShapeDrawer)} draws the shapes inside the cull bounds of the drawer, see
+ * {@link ShapeDrawer#setCulling(boolean)}, or every shape if the drawer isn't culling. The shapes are always drawn in
+ * the order they were added, with the colour they were recorded with. A shape is found using the rectangle from
+ * {@link ShapeCommandBuffer#getBounds(int, Rectangle)}, which includes the mitres of joins at sharp angles.</p>
+ *
+ * <p>For a scene that rarely changes, {@link #setCaching(boolean)} records the visible shapes into a {@link Drawing},
+ * along with those in a margin of one cell around them, which is then drawn each frame until the view leaves that area,
+ * the scene is changed or the pixel size of the drawer changes. Changes to other settings of the drawer, such as its cap
+ * type or mitre limit, aren't noticed, and {@link #invalidate()} has to be called after them.</p>
+ */
+
+public class ShapeScene {
+
+    //shapes whose bounds cover more than this many cells are kept in a separate list, and tested every time
+    static final int MAX_CELLS_PER_SHAPE = 64;
+    //cell coordinates are clamped to this, so that adding or subtracting a cell doesn't overflow
+    static final int MAX_CELL = 1 << 30;
+
+    private final float cellSize;
+    //the shapes, and an empty buffer that they are copied into when removed shapes are cleared out
+    private ShapeCommandBuffer shapes = new ShapeCommandBuffer(), spare = new ShapeCommandBuffer();
+
+    //the command of each handle, or -1 if the handle is free, and the handle of each command, or -1 if it was removed
+    private final IntArray commandOfHandle = new IntArray(), handleOfCommand = new IntArray();
+    private final IntArray freeHandles = new IntArray();
+    private int removedCommands = 0;
+
+    //the bounds and the range of cells of each handle, as minimum x, minimum y, maximum x and maximum y
+    private final FloatArray shapeBounds = new FloatArray();
+    private final IntArray shapeCells = new IntArray();
+    private final BooleanArray large = new BooleanArray();
+
+    //only cells with shapes in them are in the map, and emptied cells are kept to be reused
+    private final LongMap<IntArray> cells = new LongMap<>();
+    private final Array<IntArray> emptyCells = new Array<>();
+    private final IntArray largeShapes = new IntArray();
+
+    //the commands found by the last query in drawing order, and the last query each handle was found in
+    private final IntArray visible = new IntArray();
+    private final IntArray lastQuery = new IntArray();
+    private int query = 0;
+
+    private final Rectangle bounds = new Rectangle();
+
+    private boolean caching = false;
+    private Drawing cache;
+    private boolean cacheValid = false, cacheAll = false;
+    private int cacheMinX, cacheMinY, cacheMaxX, cacheMaxY;
+    private float cachePixelSize;
+    private int cacheCount = 0;
+
+    private int lastDrawnCount = 0;
+
+    //================================================================================
+    // CONSTRUCTOR
+    //================================================================================
+
+    /**
+     * @param cellSize the width and height of the cells of the grid, in the coordinates that shapes are drawn in. A few
+     *                 cells across the screen is usually a good size, and a shape larger than a few cells is fine.
+     */
+    public ShapeScene(float cellSize) {
+        if (!(cellSize > 0)) throw new IllegalArgumentException("The cell size must be positive, was " + cellSize);
+        this.cellSize = cellSize;
+    }
+
+    //================================================================================
+    // EDITING
+    //================================================================================
+
+    /**
+     * <p>Adds a copy of a command from a buffer to the scene. Shapes are drawn in the order they were added.</p>
+     *
+     * @return the handle of the shape
+     */
+    public int add(ShapeCommandBuffer buffer, int index) {
+        int handle;
+        if (freeHandles.size > 0) {
+            handle = freeHandles.pop();
+        } else {
+            handle = commandOfHandle.size;
+            commandOfHandle.add(-1);
+            shapeBounds.setSize(shapeBounds.size + 4);
+            shapeCells.setSize(shapeCells.size + 4);
+            large.add(false);
+            lastQuery.add(query);
+        }
+        shapes.add(buffer, index);
+        setCommand(handle, shapes.getCommandCount() - 1);
+        insert(handle);
+        cacheValid = false;
+        return handle;
+    }
+
+    /**
+     * <p>Adds a copy of every command in a buffer to the scene, in order.</p>
+     *
+     * @param handles if not null, the handles of the shapes are added to this
+     */
+    public void addAll(ShapeCommandBuffer buffer, IntArray handles) {
+        for (int i = 0, n = buffer.getCommandCount(); i < n; i++) {
+            int handle = add(buffer, i);
+            if (handles != null) handles.add(handle);
+        }
+    }
+
+    /**
+     * <p>Replaces a shape with a copy of a command from a buffer, keeping its handle. It is drawn after the shapes that
+     * are already in the scene, as if it had just been added.</p>
+     */
+    public void set(int handle, ShapeCommandBuffer buffer, int index) {
+        checkHandle(handle);
+        int c = 4 * handle;
+        removeFromCells(handle, large.get(handle), shapeCells.get(c), shapeCells.get(c + 1), shapeCells.get(c + 2), shapeCells.get(c + 3));
+        removeCommand(handle);
+        shapes.add(buffer, index);
+        setCommand(handle, shapes.getCommandCount() - 1);
+        insert(handle);
+        cacheValid = false;
+        compactIfNeeded();
+    }
+
+    /**
+     * <p>Moves a shape by the given offset.</p>
+     */
+    public void move(int handle, float dx, float dy) {
+        checkHandle(handle);
+        shapes.translate(commandOfHandle.get(handle), dx, dy);
+        int c = 4 * handle;
+        int minX = shapeCells.get(c), minY = shapeCells.get(c + 1), maxX = shapeCells.get(c + 2), maxY = shapeCells.get(c + 3);
+        boolean wasLarge = large.get(handle);
+        updateBounds(handle);
+        //only move the shape to other cells if its range of cells has changed
+        if (wasLarge != large.get(handle) || minX != shapeCells.get(c) || minY != shapeCells.get(c + 1)
+                || maxX != shapeCells.get(c + 2) || maxY != shapeCells.get(c + 3)) {
+            removeFromCells(handle, wasLarge, minX, minY, maxX, maxY);
+            addToCells(handle);
+        }
+        cacheValid = false;
+    }
+
+    /**
+     * <p>Removes a shape. Its handle may be returned by a later call to {@link #add(ShapeCommandBuffer, int)}.</p>
+     */
+    public void remove(int handle) {
+        checkHandle(handle);
+        int c = 4 * handle;
+        removeFromCells(handle, large.get(handle), shapeCells.get(c), shapeCells.get(c + 1), shapeCells.get(c + 2), shapeCells.get(c + 3));
+        removeCommand(handle);
+        commandOfHandle.set(handle, -1);
+        freeHandles.add(handle);
+        cacheValid = false;
+        compactIfNeeded();
+    }
+
+    /**
+     * <p>Removes every shape.</p>
+     */
+    public void clear() {
+        shapes.clear();
+        commandOfHandle.clear();
+        handleOfCommand.clear();
+        freeHandles.clear();
+        removedCommands = 0;
+        shapeBounds.clear();
+        shapeCells.clear();
+        large.clear();
+        lastQuery.clear();
+        cells.clear();
+        emptyCells.clear();
+        largeShapes.clear();
+        cacheValid = false;
+    }
+
+    /**
+     * <p>Forces the shapes to be recorded again the next time they are drawn, when caching. This should be called after
+     * changing a setting of the drawer that affects how shapes are drawn, other than its pixel size.</p>
+     */
+    public void invalidate() {
+        cacheValid = false;
+    }
+
+    private void checkHandle(int handle) {
+        if (!contains(handle)) throw new IllegalArgumentException("No shape with handle " + handle);
+    }
+
+    private void setCommand(int handle, int command) {
+        commandOfHandle.set(handle, command);
+        handleOfCommand.add(handle);
+    }
+
+    private void removeCommand(int handle) {
+        //the command stays in the buffer until the scene is compacted
+        handleOfCommand.set(commandOfHandle.get(handle), -1);
+        removedCommands++;
+    }
+
+    private void compactIfNeeded() {
+        if (removedCommands < 64 || removedCommands < handleOfCommand.size / 2) return;
+        int[] handles = handleOfCommand.items;
+        int command = 0;
+        for (int i = 0, n = handleOfCommand.size; i < n; i++) {
+            int handle = handles[i];
+            if (handle == -1) continue;
+            spare.add(shapes, i);
+            commandOfHandle.set(handle, command);
+            handles[command++] = handle;
+        }
+        handleOfCommand.size = command;
+        removedCommands = 0;
+        ShapeCommandBuffer compacted = spare;
+        spare = shapes;
+        spare.clear();
+        shapes = compacted;
+    }
+
+    //================================================================================
+    // GRID
+    //================================================================================
+
+    private void insert(int handle) {
+        updateBounds(handle);
+        addToCells(handle);
+    }
+
+    private void updateBounds(int handle) {
+        shapes.getBounds(commandOfHandle.get(handle), bounds);
+        int b = 4 * handle;
+        float[] f = shapeBounds.items;
+        f[b] = bounds.x;
+        f[b + 1] = bounds.y;
+        f[b + 2] = bounds.x + bounds.width;
+        f[b + 3] = bounds.y + bounds.height;
+        int minX = cell(f[b]), minY = cell(f[b + 1]), maxX = cell(f[b + 2]), maxY = cell(f[b + 3]);
+        int[] c = shapeCells.items;
+        c[b] = minX;
+        c[b + 1] = minY;
+        c[b + 2] = maxX;
+        c[b + 3] = maxY;
+        large.set(handle, (long) (maxX - minX + 1) * (maxY - minY + 1) > MAX_CELLS_PER_SHAPE);
+    }
+
+    private void addToCells(int handle) {
+        if (large.get(handle)) {
+            largeShapes.add(handle);
+            return;
+        }
+        int c = 4 * handle;
+        for (int x = shapeCells.get(c); x <= shapeCells.get(c + 2); x++) {
+            for (int y = shapeCells.get(c + 1); y <= shapeCells.get(c + 3); y++) {
+                long key = key(x, y);
+                IntArray cell = cells.get(key);
+                if (cell == null) {
+                    cell = emptyCells.size > 0 ? emptyCells.pop() : new IntArray();
+                    cells.put(key, cell);
+                }
+                cell.add(handle);
+            }
+        }
+    }
+
+    private void removeFromCells(int handle, boolean wasLarge, int minX, int minY, int maxX, int maxY) {
+        if (wasLarge) {
+            largeShapes.removeValue(handle);
+            return;
+        }
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                long key = key(x, y);
+                IntArray cell = cells.get(key);
+                cell.removeValue(handle);
+                if (cell.size == 0) {
+                    cells.remove(key);
+                    emptyCells.add(cell);
+                }
+            }
+        }
+    }
+
+    private int cell(float coordinate) {
+        float cell = (float) Math.floor(coordinate / cellSize);
+        //NaN bounds from degenerate shapes go in cell 0
+        if (cell != cell) return 0;
+        return (int) Math.max(-MAX_CELL, Math.min(MAX_CELL, cell));
+    }
+
+    private static long key(int x, int y) {
+        return ((long) x << 32) | (y & 0xffffffffL);
+    }
+
+    //================================================================================
+    // QUERYING
+    //================================================================================
+
+    /**
+     * <p>Finds the shapes whose bounds overlap an area.</p>
+     *
+     * @param handles the handles of the shapes are added to this, in the order the shapes are drawn
+     * @return {@code handles}
+     */
+    public IntArray getShapes(Rectangle area, IntArray handles) {
+        int[] handleOfCommand = this.handleOfCommand.items;
+        findVisible(area.x, area.y, area.x + area.width, area.y + area.height);
+        for (int i = 0; i < visible.size; i++) {
+            handles.add(handleOfCommand[visible.get(i)]);
+        }
+        return handles;
+    }
+
+    private void findVisible(float minX, float minY, float maxX, float maxY) {
+        visible.clear();
+        if (++query == 0) {
+            //the query counter has wrapped around, so forget when each shape was last found
+            Arrays.fill(lastQuery.items, 0, lastQuery.size, 0);
+            query = 1;
+        }
+        int minCellX = cell(minX), minCellY = cell(minY), maxCellX = cell(maxX), maxCellY = cell(maxY);
+        if ((long) (maxCellX - minCellX + 1) * (maxCellY - minCellY + 1) > cells.size) {
+            //there are fewer cells with something in them than cells in the area, such as when zoomed out
+            for (LongMap.Entry<IntArray> entry : cells.entries()) {
+                int x = (int) (entry.key >> 32), y = (int) entry.key;
+                if (x >= minCellX && x <= maxCellX && y >= minCellY && y <= maxCellY) {
+                    findVisible(entry.value, minX, minY, maxX, maxY);
+                }
+            }
+        } else {
+            for (int x = minCellX; x <= maxCellX; x++) {
+                for (int y = minCellY; y <= maxCellY; y++) {
+                    IntArray cell = cells.get(key(x, y));
+                    if (cell != null) findVisible(cell, minX, minY, maxX, maxY);
+                }
+            }
+        }
+        findVisible(largeShapes, minX, minY, maxX, maxY);
+        visible.sort();
+    }
+
+    private void findVisible(IntArray handles, float minX, float minY, float maxX, float maxY) {
+        int[] lastQuery = this.lastQuery.items;
+        float[] f = shapeBounds.items;
+        for (int i = 0; i < handles.size; i++) {
+            int handle = handles.get(i);
+            if (lastQuery[handle] == query) continue;
+            lastQuery[handle] = query;
+            int b = 4 * handle;
+            if (f[b] <= maxX && f[b + 2] >= minX && f[b + 1] <= maxY && f[b + 3] >= minY) {
+                visible.add(commandOfHandle.get(handle));
+            }
+        }
+    }
+
+    private void findAll() {
+        visible.clear();
+        for (int i = 0; i < handleOfCommand.size; i++) {
+            if (handleOfCommand.get(i) != -1) visible.add(i);
+        }
+    }
+
+    //================================================================================
+    // DRAWING
+    //================================================================================
+
+    /**
+     * <p>Draws the shapes that overlap the cull bounds of the drawer, or every shape if the drawer isn't culling. The
+     * drawer should have been updated, see {@link ShapeDrawer#update()}, after the camera last moved.</p>
+     */
+    public void draw(ShapeDrawer drawer) {
+        if (!drawer.isCulling()) {
+            drawAll(drawer);
+            return;
+        }
+        drawer.getCullBounds(bounds);
+        if (Float.isInfinite(bounds.width) || Float.isInfinite(bounds.height)) {
+            drawAll(drawer);
+            return;
+        }
+        draw(drawer, bounds.x, bounds.y, bounds.x + bounds.width, bounds.y + bounds.height);
+    }
+
+    /**
+     * <p>Draws the shapes that overlap an area.</p>
+     */
+    public void draw(ShapeDrawer drawer, Rectangle area) {
+        draw(drawer, area.x, area.y, area.x + area.width, area.y + area.height);
+    }
+
+    private void draw(ShapeDrawer drawer, float minX, float minY, float maxX, float maxY) {
+        if (!caching || drawer.batchManager.isRecording()) {
+            findVisible(minX, minY, maxX, maxY);
+            drawVisible(drawer);
+            return;
+        }
+        int minCellX = cell(minX), minCellY = cell(minY), maxCellX = cell(maxX), maxCellY = cell(maxY);
+        if (!isCached(drawer) || cacheAll || minCellX < cacheMinX || minCellY < cacheMinY || maxCellX > cacheMaxX || maxCellY > cacheMaxY) {
+            //record a cell more on each side, so that the camera can move a little before recording again
+            cacheMinX = minCellX - 1;
+            cacheMinY = minCellY - 1;
+            cacheMaxX = maxCellX + 1;
+            cacheMaxY = maxCellY + 1;
+            cacheAll = false;
+            findVisible(cacheMinX * cellSize, cacheMinY * cellSize, (cacheMaxX + 1) * cellSize, (cacheMaxY + 1) * cellSize);
+            record(drawer);
+        }
+        drawCache(drawer);
+    }
+
+    private void drawAll(ShapeDrawer drawer) {
+        if (!caching || drawer.batchManager.isRecording()) {
+            findAll();
+            drawVisible(drawer);
+            return;
+        }
+        if (!isCached(drawer) || !cacheAll) {
+            cacheAll = true;
+            findAll();
+            record(drawer);
+        }
+        drawCache(drawer);
+    }
+
+    private void drawVisible(ShapeDrawer drawer) {
+        boolean wasCaching = drawer.batchManager.startCaching();
+        float oldColor = drawer.getPackedColor();
+        for (int i = 0; i < visible.size; i++) {
+            shapes.drawCommand(drawer, visible.get(i));
+        }
+        drawer.setColor(oldColor);
+        if (!wasCaching) drawer.batchManager.endCaching();
+        lastDrawnCount = visible.size;
+    }
+
+    private boolean isCached(ShapeDrawer drawer) {
+        return cacheValid && cache.getBatchManager() == drawer.batchManager && cachePixelSize == drawer.getPixelSize();
+    }
+
+    private void record(ShapeDrawer drawer) {
+        //anything already cached by the drawer has to be drawn before the recording starts
+        drawer.batchManager.pushToBatch();
+        //the recording is drawn while the view moves within the cells it covers, so nothing in them can be culled
+        boolean wasCulling = drawer.setCulling(false);
+        if (cache == null || cache.getBatchManager() != drawer.batchManager) {
+            drawer.startRecording();
+        } else {
+            drawer.startRecording(cache);
+        }
+        drawVisible(drawer);
+        cache = drawer.stopRecording();
+        drawer.setCulling(wasCulling);
+        cacheCount = visible.size;
+        cachePixelSize = drawer.getPixelSize();
+        cacheValid = true;
+    }
+
+    private void drawCache(ShapeDrawer drawer) {
+        drawer.draw(cache);
+        lastDrawnCount = cacheCount;
+    }
+
+    //================================================================================
+    // GETTERS AND SETTERS
+    //================================================================================
+
+    /**
+     * @return whether there is a shape with the given handle
+     */
+    public boolean contains(int handle) {
+        return handle >= 0 && handle < commandOfHandle.size && commandOfHandle.get(handle) != -1;
+    }
+
+    /**
+     * @return the number of shapes in the scene
+     */
+    public int size() {
+        return handleOfCommand.size - removedCommands;
+    }
+
+    /**
+     * <p>Sets {@code bounds} to the bounds of a shape, see {@link ShapeCommandBuffer#getBounds(int, Rectangle)}.</p>
+     *
+     * @return {@code bounds}
+     */
+    public Rectangle getBounds(int handle, Rectangle bounds) {
+        checkHandle(handle);
+        int b = 4 * handle;
+        float[] f = shapeBounds.items;
+        return bounds.set(f[b], f[b + 1], f[b + 2] - f[b], f[b + 3] - f[b + 1]);
+    }
+
+    public float getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * @return the number of shapes drawn by the last call to draw, including those drawn from the cache
+     */
+    public int getLastDrawnCount() {
+        return lastDrawnCount;
+    }
+
+    /**
+     * @return whether the visible shapes are recorded into a {@link Drawing}, see {@link #setCaching(boolean)}
+     */
+    public boolean isCaching() {
+        return caching;
+    }
+
+    /**
+     * <p>Sets whether the visible shapes are recorded into a {@link Drawing} that is drawn again in later frames, which is
+     * much faster than calculating their vertices every frame, as long as the scene and the view don't change often.
+     * The recording covers a cell around the visible area on each side, and the shapes in it aren't culled, so each frame
+     * sends more vertices to the batch than without caching. The default is false.</p>
+     *
+     * @return the old value
+     */
+    public boolean setCaching(boolean caching) {
+        boolean oldCaching = this.caching;
+        this.caching = caching;
+        cacheValid = false;
+        return oldCaching;
+    }
+
+}
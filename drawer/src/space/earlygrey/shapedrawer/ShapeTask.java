@@ -0,0 +1,18 @@
+package space.earlygrey.shapedrawer;
+
+/**
+ * <p>A list of shapes that can be drawn one at a time by index, such as the edges of a graph or the paths of a map. See
+ * {@link ParallelTessellator}, which splits the list between several drawers.</p>
+ */
+public interface ShapeTask {
+
+	/**
+	 * Draws the shape at the given index. This should only use the given drawer, and should not depend on the other
+	 * shapes having been drawn.
+	 *
+	 * @param drawer the drawer to draw with
+	 * @param index the index of the shape, from 0 to the count given when the task was submitted
+	 */
+	void draw(ShapeDrawer drawer, int index);
+
+}
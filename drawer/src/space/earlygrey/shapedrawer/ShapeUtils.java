@@ -2,6 +2,7 @@ package space.earlygrey.shapedrawer;
 
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.NumberUtils;
 
 public class ShapeUtils {
 
@@ -33,6 +34,16 @@ public class ShapeUtils {
 
     }
 
+    /**
+     * <p>Gives the colour of a path at each of its points, as a packed float, see {@link com.badlogic.gdx.graphics.Color#toFloatBits()}.
+     * Like {@link LineWidthFunction}, {@code i} is the index of the point and {@code t} is the distance along the path to it
+     * as a proportion of the total length. The colour is blended between points, so a gradient along the path can be made
+     * using {@link #lerpColor(float, float, float)}.</p>
+     */
+    public interface ColorFunction {
+        float getColor(int i, float t);
+    }
+
 
     public static float snap(float a, float pixelSize, float halfPixelSize) {
         return  (Math.round(a / pixelSize) * pixelSize) + halfPixelSize;
@@ -60,13 +71,91 @@ public class ShapeUtils {
         return (float) Math.atan2(reference.x * v.y - reference.y * v.x, v.x * reference.x + v.y * reference.y);
     }
 
-    static float pathLength(float[] path) {
-        if (path.length < 4) return 0;
-        float l = 0;
-        for (int i = 0; i < path.length-4; i+=2) {
-            l += Vector2.dst(path[i], path[i+1], path[i+2], path[i+3]);
+    /**
+     * <p>Calculates the arc length parameterisation of a path, that is for each point the distance along the path to that
+     * point as a proportion of the total length. This is the {@code t} value passed to {@link LineWidthFunction#getWidth(int, float)}.
+     * For a path that doesn't change, this can be calculated once and passed to {@link #sampleLineWidths(LineWidthFunction, float[], int, float[])}
+     * each frame to avoid measuring the path again.</p>
+     *
+     * @param path       the points in the path
+     * @param start      the index of {@code path} which represents the first point, inclusive
+     * @param end        the index of {@code path} which represents the last point, exclusive
+     * @param parameters the array to store the result in, if it is null or too small a new one is created
+     * @return the array containing the parameter for each point
+     */
+    public static float[] pathParameters(float[] path, int start, int end, float[] parameters) {
+        int n = (end - start) / 2;
+        if (parameters == null || parameters.length < n) parameters = new float[n];
+        if (n == 0) return parameters;
+        float length = 0;
+        parameters[0] = 0;
+        for (int i = 1; i < n; i++) {
+            int j = start + 2 * i;
+            length += Vector2.dst(path[j-2], path[j-1], path[j], path[j+1]);
+            parameters[i] = length;
+        }
+        if (length > 0) {
+            for (int i = 1; i < n; i++) {
+                parameters[i] /= length;
+            }
+        }
+        return parameters;
+    }
+
+    /**
+     * <p>Samples a {@link LineWidthFunction} at each point of a path, using the parameters calculated by
+     * {@link #pathParameters(float[], int, int, float[])}. The result can be passed to
+     * {@link ShapeDrawer#path(float[], int, int, float[], JoinType, boolean)}, and kept as long as the widths don't change.</p>
+     *
+     * @param lineWidth  the function giving the width at each point
+     * @param parameters the arc length parameter of each point
+     * @param count      the number of points
+     * @param lineWidths the array to store the result in, if it is null or too small a new one is created
+     * @return the array containing the line width at each point
+     */
+    public static float[] sampleLineWidths(LineWidthFunction lineWidth, float[] parameters, int count, float[] lineWidths) {
+        if (lineWidths == null || lineWidths.length < count) lineWidths = new float[count];
+        for (int i = 0; i < count; i++) {
+            lineWidths[i] = lineWidth.getWidth(i, parameters[i]);
+        }
+        return lineWidths;
+    }
+
+    /**
+     * <p>Samples a {@link ColorFunction} at each point of a path, in the same way as
+     * {@link #sampleLineWidths(LineWidthFunction, float[], int, float[])}. The result can be passed to
+     * {@link ShapeDrawer#path(float[], int, int, float, JoinType, boolean, float[])}.</p>
+     *
+     * @param color      the function giving the colour at each point
+     * @param parameters the arc length parameter of each point
+     * @param count      the number of points
+     * @param colors     the array to store the result in, if it is null or too small a new one is created
+     * @return the array containing the packed colour at each point
+     */
+    public static float[] sampleColors(ColorFunction color, float[] parameters, int count, float[] colors) {
+        if (colors == null || colors.length < count) colors = new float[count];
+        for (int i = 0; i < count; i++) {
+            colors[i] = color.getColor(i, parameters[i]);
+        }
+        return colors;
+    }
+
+    /**
+     * <p>Blends two packed colours, see {@link com.badlogic.gdx.graphics.Color#toFloatBits()}, without unpacking them into
+     * {@link com.badlogic.gdx.graphics.Color}s.</p>
+     *
+     * @param t the proportion of the way from {@code from} to {@code to}, from 0 to 1
+     * @return the packed colour
+     */
+    public static float lerpColor(float from, float to, float t) {
+        if (from == to) return from;
+        int a = NumberUtils.floatToIntColor(from), b = NumberUtils.floatToIntColor(to);
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 8) {
+            int ca = (a >>> shift) & 0xff, cb = (b >>> shift) & 0xff;
+            result |= (Math.round(ca + t * (cb - ca)) & 0xff) << shift;
         }
-        return l;
+        return NumberUtils.intToFloatColor(result);
     }
 
 }
@@ -3,4 +3,32 @@ package space.earlygrey.shapedrawer;
 public interface SideEstimator {
 
 	int estimateSidesRequired(float pixelSize, float radiusX, float radiusY);
+
+	/**
+	 * Estimates the number of sides for the outline of an ellipse drawn with the given line width. The outer edge of the
+	 * line has a larger radius than the ellipse, so may need more sides. By default the line width is ignored.
+	 *
+	 * @param pixelSize the size of a pixel in world units
+	 * @param radiusX the radius along the x-axis
+	 * @param radiusY the radius along the y-axis
+	 * @param lineWidth the width of the line in world units
+	 * @return the number of sides
+	 */
+	default int estimateSidesRequired(float pixelSize, float radiusX, float radiusY, float lineWidth) {
+		return estimateSidesRequired(pixelSize, radiusX, radiusY);
+	}
+
+	/**
+	 * Estimates the number of segments used to approximate an arc of a circle, such as for round joins and caps.
+	 * By default this is proportional to {@link #estimateSidesRequired(float, float, float)}.
+	 *
+	 * @param pixelSize the size of a pixel in world units
+	 * @param radius the radius of the circle
+	 * @param radians the angle the arc covers
+	 * @return the number of segments, at least 1
+	 */
+	default int estimateArcSegmentsRequired(float pixelSize, float radius, float radians) {
+		int sides = estimateSidesRequired(pixelSize, radius, radius);
+		return Math.max(1, (int) Math.ceil(sides * radians / ShapeUtils.PI2));
+	}
 }
@@ -0,0 +1,105 @@
+package space.earlygrey.shapedrawer;
+
+import com.badlogic.gdx.utils.ShortArray;
+
+/**
+ * <p>A small least recently used cache of polygon triangulations, so that a polygon drawn every frame without its
+ * triangles being supplied is only triangulated when it changes. A copy of the vertices of each polygon is kept, and
+ * entries are found by comparing it with the vertices being drawn, so a polygon is found whichever array it is drawn from.
+ * This means several polygons that are copied into the same array in turn, such as by
+ * {@link space.earlygrey.shapedrawer.shapes.Brush#polygon()}, are each cached.</p>
+ *
+ * @author earlygrey
+ */
+
+class TriangulationCache {
+
+    static final int DEFAULT_CAPACITY = 16;
+
+    private Triangulator triangulator;
+
+    //ordered from most to least recently used
+    private final Entry[] entries;
+    private int size = 0;
+
+    TriangulationCache(Triangulator triangulator) {
+        this(triangulator, DEFAULT_CAPACITY);
+    }
+
+    TriangulationCache(Triangulator triangulator, int capacity) {
+        this.triangulator = triangulator;
+        entries = new Entry[capacity];
+    }
+
+    Triangulator getTriangulator() {
+        return triangulator;
+    }
+
+    /**
+     * Sets the triangulator used for polygons that aren't in the cache, and empties the cache.
+     */
+    void setTriangulator(Triangulator triangulator) {
+        this.triangulator = triangulator;
+        for (int i = 0; i < size; i++) {
+            entries[i].count = -1;
+        }
+    }
+
+    /**
+     * @return an entry containing the triangles of the polygon defined by {@code count} floats of {@code vertices},
+     * starting at {@code offset}. This is only valid until the next call.
+     */
+    Entry get(float[] vertices, int offset, int count) {
+        for (int i = 0; i < size; i++) {
+            Entry entry = entries[i];
+            //comparisons with different polygons usually stop at the first vertex
+            if (entry.count == count && entry.matches(vertices, offset)) {
+                moveToFront(i, entry);
+                return entry;
+            }
+        }
+        //reuse the least recently used entry if there is no room
+        Entry entry;
+        if (size == entries.length) {
+            entry = entries[size - 1];
+        } else {
+            entry = new Entry();
+            size++;
+        }
+        entry.set(vertices, offset, count, triangulator);
+        moveToFront(size - 1, entry);
+        return entry;
+    }
+
+    private void moveToFront(int index, Entry entry) {
+        System.arraycopy(entries, 0, entries, 1, index);
+        entries[0] = entry;
+    }
+
+    static class Entry {
+
+        int count = -1;
+        float[] vertices = new float[0];
+        short[] triangles = new short[0];
+        int trianglesCount;
+
+        boolean matches(float[] source, int offset) {
+            for (int i = 0; i < count; i++) {
+                if (vertices[i] != source[offset + i]) return false;
+            }
+            return true;
+        }
+
+        void set(float[] source, int offset, int count, Triangulator triangulator) {
+            this.count = count;
+            if (vertices.length < count) vertices = new float[count];
+            System.arraycopy(source, offset, vertices, 0, count);
+            ShortArray computed = triangulator.computeTriangles(source, offset, count);
+            if (triangles.length < computed.size) triangles = new short[computed.size];
+            System.arraycopy(computed.items, 0, triangles, 0, computed.size);
+            trianglesCount = computed.size;
+        }
+
+    }
+
+}
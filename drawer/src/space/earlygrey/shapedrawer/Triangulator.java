@@ -0,0 +1,22 @@
+package space.earlygrey.shapedrawer;
+
+import com.badlogic.gdx.utils.ShortArray;
+
+/**
+ * <p>Calculates the triangles of a polygon for filled polygons drawn without their triangles being supplied.
+ * See {@link DefaultTriangulator} and {@link MonotoneTriangulator}.</p>
+ */
+public interface Triangulator {
+
+	/**
+	 * Triangulates a simple polygon, which may be clockwise or anticlockwise.
+	 *
+	 * @param vertices consecutive ordered pairs of the x-y coordinates of the vertices of the polygon
+	 * @param offset the index of {@code vertices} of the x-coordinate of the first vertex
+	 * @param count the number of floats of {@code vertices} to use, twice the number of vertices
+	 * @return ordered triples of the indices of the vertices of each triangle, where 0 is the vertex at {@code offset}.
+	 * This may be reused by the next call.
+	 */
+	ShortArray computeTriangles(float[] vertices, int offset, int count);
+
+}
@@ -0,0 +1,87 @@
+package space.earlygrey.shapedrawer;
+
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * <p>A cache of the vertices of regular polygons inscribed in the unit circle, keyed by number of sides. Circles, ellipses,
+ * arcs, sectors and regular polygons scale, rotate and translate these points instead of calculating sines and cosines on
+ * every draw.</p>
+ *
+ * <p>A table is kept for each number of sides up to {@link #MAX_CACHED_SIDES} that is used, until the tables hold
+ * {@link #MAX_CACHED_FLOATS} floats, and is never evicted, so drawing circles of many different sizes doesn't keep
+ * replacing tables. Other numbers of sides are calculated into an array that is reused, which may be larger than the
+ * table, so the number of sides is passed to {@link #vertex(float[], int, int, Vector2)} and
+ * {@link #point(float[], int, float, Vector2)}. Tables are calculated by rotating a vector in double precision, which
+ * needs one sine and cosine and gives vertices accurate to float precision for any number of sides.</p>
+ *
+ * @author earlygrey
+ */
+
+class UnitCircleCache {
+
+    static final int MAX_CACHED_SIDES = 1024, MAX_CACHED_FLOATS = 1 << 16;
+
+    //angles within this many sides of a vertex are considered to be at the vertex
+    private static final float INDEX_EPSILON = 1e-4f;
+
+    //indexed by number of sides
+    private final float[][] tables = new float[MAX_CACHED_SIDES + 1][];
+    private int cachedFloats = 0;
+    private float[] uncached = new float[0];
+
+    /**
+     * @return an array containing the x and y coordinates of each vertex of a regular polygon with the specified number
+     * of sides, inscribed in the unit circle with its first vertex at (1, 0). The array may be longer than
+     * {@code 2 * sideCount}, and is only valid until the next call.
+     */
+    float[] get(int sideCount) {
+        if (sideCount <= MAX_CACHED_SIDES) {
+            float[] table = tables[sideCount];
+            if (table != null) return table;
+            if (cachedFloats + 2 * sideCount <= MAX_CACHED_FLOATS) {
+                table = new float[2 * sideCount];
+                fill(table, sideCount);
+                tables[sideCount] = table;
+                cachedFloats += table.length;
+                return table;
+            }
+        }
+        if (uncached.length < 2 * sideCount) uncached = new float[2 * sideCount];
+        fill(uncached, sideCount);
+        return uncached;
+    }
+
+    private static void fill(float[] table, int sideCount) {
+        double angle = ShapeUtils.PI2 / (double) sideCount;
+        double cos = Math.cos(angle), sin = Math.sin(angle), x = 1, y = 0;
+        for (int i = 0; i < sideCount; i++) {
+            table[2 * i] = (float) x;
+            table[2 * i + 1] = (float) y;
+            double t = x * cos - y * sin;
+            y = x * sin + y * cos;
+            x = t;
+        }
+    }
+
+    /**
+     * <p>Sets {@code point} to the vertex with the given index in {@code table}, which can be any integer and wraps around.</p>
+     * @return {@code point}
+     */
+    static Vector2 vertex(float[] table, int sideCount, int index, Vector2 point) {
+        index %= sideCount;
+        if (index < 0) index += sideCount;
+        return point.set(table[2 * index], table[2 * index + 1]);
+    }
+
+    /**
+     * <p>Sets {@code point} to the point on the unit circle at {@code angle}, using the table if the angle is at one of its vertices.</p>
+     * @return {@code point}
+     */
+    static Vector2 point(float[] table, int sideCount, float angle, Vector2 point) {
+        float index = angle * sideCount / ShapeUtils.PI2;
+        int nearest = Math.round(index);
+        if (Math.abs(index - nearest) < INDEX_EPSILON) return vertex(table, sideCount, nearest, point);
+        return point.set((float) Math.cos(angle), (float) Math.sin(angle));
+    }
+
+}
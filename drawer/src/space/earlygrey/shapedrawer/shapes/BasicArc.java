@@ -33,12 +33,14 @@ public class BasicArc extends BasicShape<BasicArc> implements Arc {
     @Override
     public BasicArc color(Color color) {
         this.color = color.toFloatBits();
+        dirty = true;
         return this;
     }
 
     @Override
     public BasicArc joinType(JoinType joinType) {
         this.joinType = joinType;
+        dirty = true;
         return this;
     }
 
@@ -51,46 +53,54 @@ public class BasicArc extends BasicShape<BasicArc> implements Arc {
     @Override
     public BasicArc centre(float x, float y) {
         this.centre.set(x, y);
+        dirty = true;
         return this;
     }
 
     @Override
     public BasicArc centre(Vector2 centre) {
         this.centre.set(centre);
+        dirty = true;
         return this;
     }
 
     @Override
     public BasicArc radius(float radius) {
         this.radius = radius;
+        dirty = true;
         return this;
     }
 
     @Override
     public BasicArc startAngle(float startAngle) {
         this.startAngle = startAngle;
+        dirty = true;
         return this;
     }
 
     @Override
     public BasicArc radians(float radians) {
         this.radians = radians;
+        dirty = true;
         return this;
     }
 
     @Override
     public BasicArc sides(int sides) {
         this.sides = sides;
+        dirty = true;
         return this;
     }
 
     @Override
-    public void draw() {
+    void drawShape() {
+        float c = drawer.setColor(color);
         if (filled) {
-            draw(() -> drawer.sector(centre.x, centre.y, radius, startAngle, radians, sides));
+            drawer.sector(centre.x, centre.y, radius, startAngle, radians, sides);
         } else {
-            draw(() -> drawer.arc(centre.x, centre.y, radius, startAngle, radians, lineWidth.getWidth(0, 0), joinType, sides));
+            drawer.arc(centre.x, centre.y, radius, startAngle, radians, lineWidth.getWidth(0, 0), joinType, sides);
         }
+        drawer.setColor(c);
     }
 
 }
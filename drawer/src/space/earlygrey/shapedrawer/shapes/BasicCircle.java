@@ -19,6 +19,10 @@ public class BasicCircle implements OutlinedCircle {
         ellipse.reset(filled);
     }
 
+    void setRetained(boolean retained) {
+        ellipse.setRetained(retained);
+    }
+
     @Override
     public BasicCircle color(Color color) {
         ellipse.color(color);
@@ -60,4 +64,9 @@ public class BasicCircle implements OutlinedCircle {
     public void draw() {
         ellipse.draw();
     }
+
+    @Override
+    public void invalidate() {
+        ellipse.invalidate();
+    }
 }
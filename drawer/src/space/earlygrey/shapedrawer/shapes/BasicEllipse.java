@@ -30,48 +30,56 @@ public class BasicEllipse extends BasicShape implements OutlinedEllipse {
     @Override
     public BasicEllipse color(Color color) {
         this.color = color.toFloatBits();
+        dirty = true;
         return this;
     }
 
     @Override
     public BasicEllipse centre(float x, float y) {
         this.centre.set(x, y);
+        dirty = true;
         return this;
     }
 
     @Override
     public BasicEllipse centre(Vector2 centre) {
         this.centre.set(centre);
+        dirty = true;
         return this;
     }
 
     @Override
     public BasicEllipse radiusX(float radiusX) {
         this.radiusX = radiusX;
+        dirty = true;
         return this;
     }
 
     @Override
     public BasicEllipse radiusY(float radiusY) {
         this.radiusY = radiusY;
+        dirty = true;
         return this;
     }
 
     @Override
     public BasicEllipse rotation(float rotation) {
         this.rotation = rotation;
+        dirty = true;
         return this;
     }
 
     @Override
     public BasicEllipse rotate(float rotation) {
         this.rotation += rotation;
+        dirty = true;
         return this;
     }
 
     @Override
     public BasicEllipse joinType(JoinType joinType) {
         this.joinType = joinType;
+        dirty = true;
         return this;
     }
 
@@ -82,7 +90,7 @@ public class BasicEllipse extends BasicShape implements OutlinedEllipse {
     }
 
     @Override
-    public void draw() {
+    void drawShape() {
 
         float c = drawer.setColor(color);
         if (filled) {
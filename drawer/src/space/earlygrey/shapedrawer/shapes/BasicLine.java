@@ -33,30 +33,35 @@ public class BasicLine extends BasicShape<BasicLine> implements Line {
     @Override
     public BasicLine from(float x, float y) {
         from.set(x, y);
+        dirty = true;
         return this;
     }
 
     @Override
     public BasicLine to(float x, float y) {
         to.set(x, y);
+        dirty = true;
         return this;
     }
 
     @Override
     public BasicLine from(Vector2 from) {
         this.from.set(from);
+        dirty = true;
         return this;
     }
 
     @Override
     public BasicLine to(Vector2 to) {
         this.to.set(to);
+        dirty = true;
         return this;
     }
 
     @Override
     public BasicLine joinType(JoinType joinType) {
         this.joinType = joinType;
+        dirty = true;
         return this;
     }
 
@@ -70,29 +75,33 @@ public class BasicLine extends BasicShape<BasicLine> implements Line {
     public BasicLine color(Color color) {
         startColor(color);
         endColor(color);
+        dirty = true;
         return this;
     }
 
     @Override
     public BasicLine startColor(Color startColor) {
         this.startColor = startColor.toFloatBits();
+        dirty = true;
         return this;
     }
 
     @Override
     public BasicLine endColor(Color endColor) {
         this.endColor = endColor.toFloatBits();
+        dirty = true;
         return this;
     }
 
     @Override
     public BasicLine snap(boolean snap) {
         this.snap = snap;
+        dirty = true;
         return this;
     }
 
     @Override
-    public void draw() {
+    void drawShape() {
         drawer.line(from.x, from.y, to.x, to.y, lineWidth.getWidth(0, 0), snap, startColor, endColor);
     }
 
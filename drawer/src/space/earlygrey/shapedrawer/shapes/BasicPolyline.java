@@ -1,10 +1,9 @@
 package space.earlygrey.shapedrawer.shapes;
 
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.math.EarClippingTriangulator;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.FloatArray;
-import com.badlogic.gdx.utils.ShortArray;
 
 import space.earlygrey.shapedrawer.JoinType;
 import space.earlygrey.shapedrawer.ShapeDrawer;
@@ -19,8 +18,6 @@ public class BasicPolyline extends BasicShape<BasicPolyline> implements PolyLine
 
     boolean open;
 
-    EarClippingTriangulator triangulator = new EarClippingTriangulator();
-
     BasicPolyline(ShapeDrawer drawer) {
         super(drawer);
         vertices = new FloatArray();
@@ -39,18 +36,21 @@ public class BasicPolyline extends BasicShape<BasicPolyline> implements PolyLine
 
     public BasicPolyline setOpen(boolean open) {
         this.open = open;
+        dirty = true;
         return this;
     }
 
     @Override
     public BasicPolyline color(Color color) {
         this.color = color.toFloatBits();
+        dirty = true;
         return this;
     }
 
     @Override
     public BasicPolyline joinType(JoinType joinType) {
         this.joinType = joinType;
+        dirty = true;
         return this;
     }
 
@@ -63,13 +63,27 @@ public class BasicPolyline extends BasicShape<BasicPolyline> implements PolyLine
     @Override
     public BasicPolyline lineWidth(LineWidthFunction width) {
         this.lineWidth = width;
+        dirty = true;
         return this;
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public <T extends Vector2> BasicPolyline vertices(Iterable<T> points) {
         this.vertices.clear();
-        points.forEach(p -> this.vertices.add(p.x, p.y));
+        if (points instanceof Array) {
+            //indexed so that nothing is allocated, even if the array's iterator is in use
+            Array<T> array = (Array<T>) points;
+            for (int i = 0; i < array.size; i++) {
+                T p = array.get(i);
+                this.vertices.add(p.x, p.y);
+            }
+        } else {
+            for (T p : points) {
+                this.vertices.add(p.x, p.y);
+            }
+        }
+        dirty = true;
         return this;
     }
 
@@ -77,6 +91,7 @@ public class BasicPolyline extends BasicShape<BasicPolyline> implements PolyLine
     public BasicPolyline vertices(FloatArray points) {
         this.vertices.clear();
         this.vertices.addAll(points);
+        dirty = true;
         return this;
     }
 
@@ -84,12 +99,14 @@ public class BasicPolyline extends BasicShape<BasicPolyline> implements PolyLine
     public BasicPolyline vertices(float[] points) {
         this.vertices.clear();
         this.vertices.addAll(points, 0, points.length);
+        dirty = true;
         return this;
     }
 
     @Override
     public BasicPolyline addVertex(float x, float y) {
         this.vertices.add(x, y);
+        dirty = true;
         return this;
     }
 
@@ -102,6 +119,7 @@ public class BasicPolyline extends BasicShape<BasicPolyline> implements PolyLine
     public BasicPolyline offset(float x, float y) {
         offsetX = x;
         offsetY = y;
+        dirty = true;
         return this;
     }
 
@@ -109,17 +127,19 @@ public class BasicPolyline extends BasicShape<BasicPolyline> implements PolyLine
     public BasicPolyline scale(float x, float y) {
         scaleX = x;
         scaleY = y;
+        dirty = true;
         return this;
     }
 
     @Override
-    public void draw() {
+    void drawShape() {
+        float c = drawer.setColor(color);
         if (filled) {
-            ShortArray triangles = triangulator.computeTriangles(vertices.items, 0, vertices.size);
-            draw(() -> drawer.filledPolygon(vertices.items, triangles.items, triangles.size, offsetX, offsetY, scaleX, scaleY));
+            drawer.filledPolygon(vertices.items, 0, vertices.size, offsetX, offsetY, scaleX, scaleY);
         } else {
-            draw(() -> drawer.path(vertices.items, 0, vertices.size, lineWidth, joinType, open, offsetX, offsetY, scaleX, scaleY));
+            drawer.path(vertices.items, 0, vertices.size, lineWidth, joinType, open, offsetX, offsetY, scaleX, scaleY);
         }
+        drawer.setColor(c);
     }
 
 }
@@ -29,12 +29,14 @@ class BasicRectangle extends BasicShape<BasicRectangle> implements OutlinedRecta
     @Override
     public BasicRectangle color(Color color) {
         this.color = color.toFloatBits();
+        dirty = true;
         return this;
     }
 
     @Override
     public BasicRectangle joinType(JoinType joinType) {
         this.joinType = joinType;
+        dirty = true;
         return this;
     }
 
@@ -48,6 +50,7 @@ class BasicRectangle extends BasicShape<BasicRectangle> implements OutlinedRecta
     public OutlinedRectangle position(float x, float y) {
         this.x = x;
         this.y = y;
+        dirty = true;
         return this;
     }
 
@@ -60,27 +63,32 @@ class BasicRectangle extends BasicShape<BasicRectangle> implements OutlinedRecta
     public OutlinedRectangle size(float width, float height) {
         this.width = width;
         this.height = height;
+        dirty = true;
         return this;
     }
 
     @Override
     public OutlinedRectangle rotation(float rotation) {
         this.rotation = rotation;
+        dirty = true;
         return this;
     }
 
     @Override
     public OutlinedRectangle rotate(float rotation) {
         this.rotation += rotation;
+        dirty = true;
         return this;
     }
 
     @Override
-    public void draw() {
+    void drawShape() {
+        float c = drawer.setColor(color);
         if (filled) {
-            draw(() -> drawer.filledRectangle(x, y, width, height, rotation));
+            drawer.filledRectangle(x, y, width, height, rotation);
         } else {
-            draw(() -> drawer.rectangle(x, y, width, height, lineWidth.getWidth(0, 0), rotation, joinType));
+            drawer.rectangle(x, y, width, height, lineWidth.getWidth(0, 0), rotation, joinType);
         }
+        drawer.setColor(c);
     }
 }
@@ -33,6 +33,7 @@ class BasicRegularPolygon extends BasicShape<BasicRegularPolygon> implements Out
     @Override
     public BasicRegularPolygon joinType(JoinType joinType) {
         this.joinType = joinType;
+        dirty = true;
         return this;
     }
 
@@ -45,24 +46,28 @@ class BasicRegularPolygon extends BasicShape<BasicRegularPolygon> implements Out
     @Override
     public BasicRegularPolygon color(Color color) {
         this.color = color.toFloatBits();
+        dirty = true;
         return this;
     }
 
     @Override
     public BasicRegularPolygon centre(Vector2 centre) {
         this.centre.set(centre);
+        dirty = true;
         return this;
     }
 
     @Override
     public BasicRegularPolygon radiusX(float radiusX) {
         this.scaleX = radiusX;
+        dirty = true;
         return this;
     }
 
     @Override
     public BasicRegularPolygon radiusY(float radiusY) {
         this.scaleY = radiusY;
+        dirty = true;
         return this;
     }
 
@@ -70,29 +75,33 @@ class BasicRegularPolygon extends BasicShape<BasicRegularPolygon> implements Out
     public BasicRegularPolygon radius(float radius) {
         this.scaleX = radius;
         this.scaleY = radius;
+        dirty = true;
         return this;
     }
 
     @Override
     public BasicRegularPolygon rotation(float rotation) {
         this.rotation = rotation;
+        dirty = true;
         return this;
     }
 
     @Override
     public BasicRegularPolygon rotate(float rotation) {
         this.rotation += rotation;
+        dirty = true;
         return this;
     }
 
     @Override
     public BasicRegularPolygon sides(int sides) {
         this.sides = sides;
+        dirty = true;
         return this;
     }
 
     @Override
-    public void draw() {
+    void drawShape() {
         float c = drawer.setColor(color);
         if (filled) {
             drawer.filledPolygon(centre.x, centre.y, sides, scaleX, scaleY, rotation);
@@ -1,7 +1,9 @@
 package space.earlygrey.shapedrawer.shapes;
 
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.Rectangle;
 
+import space.earlygrey.shapedrawer.Drawing;
 import space.earlygrey.shapedrawer.JoinType;
 import space.earlygrey.shapedrawer.ShapeDrawer;
 import space.earlygrey.shapedrawer.ShapeUtils.ConstantLineWidth;
@@ -19,6 +21,12 @@ public abstract class BasicShape<T extends BasicShape> {
 
     boolean filled;
 
+    //retained shapes record their vertices and draw the recording until something changes
+    boolean retained, dirty = true;
+    Drawing recording;
+    float recordedPixelSize;
+    final Rectangle recordedBounds = new Rectangle();
+
     BasicShape(ShapeDrawer drawer) {
         this.drawer = drawer;
     }
@@ -28,16 +36,51 @@ public abstract class BasicShape<T extends BasicShape> {
         lineWidth = CONSTANT_LINE_WIDTH.width(drawer.getDefaultLineWidth());
         joinType = JoinType.POINTY;
         color = drawer.getPackedColor();
+        dirty = true;
+    }
+
+    void setRetained(boolean retained) {
+        this.retained = retained;
+    }
+
+    public void draw() {
+        //a retained shape drawn while recording is recorded like any other
+        if (!retained || drawer.isRecording()) {
+            drawShape();
+            return;
+        }
+        if (dirty || recordedPixelSize != drawer.getPixelSize()) record();
+        Rectangle b = recordedBounds;
+        if (drawer.isCulled(b.x, b.y, b.x + b.width, b.y + b.height)) return;
+        //anything the drawer has cached goes underneath the recording
+        drawer.draw(recording);
+    }
+
+    private void record() {
+        //the recording is culled as a whole when drawn
+        boolean wasCulling = drawer.setCulling(false);
+        if (recording == null) {
+            drawer.startRecording();
+        } else {
+            drawer.startRecording(recording);
+        }
+        drawShape();
+        recording = drawer.stopRecording();
+        drawer.setCulling(wasCulling);
+        recording.getBounds(recordedBounds);
+        recordedPixelSize = drawer.getPixelSize();
+        dirty = false;
     }
 
-    void draw(Runnable drawCall) {
-        float c = drawer.setColor(color);
-        drawCall.run();
-        drawer.setColor(c);
+    abstract void drawShape();
+
+    public void invalidate() {
+        dirty = true;
     }
 
     void setLineWidth(float width) {
         lineWidth = CONSTANT_LINE_WIDTH.width(width);
+        dirty = true;
     }
 
     abstract T joinType(JoinType joinType);
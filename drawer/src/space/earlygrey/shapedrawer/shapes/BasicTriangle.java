@@ -30,12 +30,14 @@ class BasicTriangle  extends BasicShape<BasicTriangle> implements OutlinedTriang
    @Override
    public BasicTriangle color(Color color) {
       this.color = color.toFloatBits();
+      dirty = true;
       return this;
    }
 
    @Override
    public BasicTriangle joinType(JoinType joinType) {
       this.joinType = joinType;
+      dirty = true;
       return this;
    }
 
@@ -48,46 +50,54 @@ class BasicTriangle  extends BasicShape<BasicTriangle> implements OutlinedTriang
    @Override
    public OutlinedTriangle a(float x, float y) {
       a.set(x, y);
+      dirty = true;
       return this;
    }
 
    @Override
    public OutlinedTriangle b(float x, float y) {
       b.set(x, y);
+      dirty = true;
       return this;
    }
 
    @Override
    public OutlinedTriangle c(float x, float y) {
       c.set(x, y);
+      dirty = true;
       return this;
    }
 
    @Override
    public OutlinedTriangle a(Vector2 a) {
       this.a.set(a);
+      dirty = true;
       return this;
    }
 
    @Override
    public OutlinedTriangle b(Vector2 b) {
       this.b.set(b);
+      dirty = true;
       return this;
    }
 
    @Override
    public OutlinedTriangle c(Vector2 c) {
       this.c.set(c);
+      dirty = true;
       return this;
    }
 
    @Override
-   public void draw() {
+   void drawShape() {
+      float oldColor = drawer.setColor(color);
       if (filled) {
-         draw(() -> drawer.filledTriangle(a, b, c));
+         drawer.filledTriangle(a, b, c);
       } else {
-         draw(() -> drawer.triangle(a, b, c, lineWidth.getWidth(0, 0), joinType, color));
+         drawer.triangle(a, b, c, lineWidth.getWidth(0, 0), joinType, color);
       }
+      drawer.setColor(oldColor);
    }
    
 }
@@ -6,7 +6,18 @@ import space.earlygrey.shapedrawer.shapes.Shape.Sector;
 public class Brush extends Utensil {
 
    public Brush(ShapeDrawer drawer) {
-      super(drawer);
+      this(drawer, false);
+   }
+
+   /**
+    * <p>Creates a Brush. If {@code retained} is true each call returns a new shape that can be kept, and which draws a
+    * recording of its vertices until it changes, see {@link Pen#Pen(ShapeDrawer, boolean)}.</p>
+    *
+    * @param drawer   the ShapeDrawer the shapes are drawn with
+    * @param retained whether each call returns a new shape that can be kept
+    */
+   public Brush(ShapeDrawer drawer, boolean retained) {
+      super(drawer, retained);
    }
 
    @Override
@@ -15,8 +26,7 @@ public class Brush extends Utensil {
    }
 
    public Sector sector() {
-      ARC.reset(filled());
-      return ARC;
+      return arc(filled());
    }
 
 
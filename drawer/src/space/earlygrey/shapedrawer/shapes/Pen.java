@@ -16,8 +16,23 @@ public class Pen extends Utensil {
     final BasicLine LINE;
 
     public Pen(ShapeDrawer drawer) {
-        super(drawer);
-        LINE = new BasicLine(drawer);
+        this(drawer, false);
+    }
+
+    /**
+     * <p>Creates a Pen. If {@code retained} is false, each method returns the same object for that type of shape, reset
+     * to its defaults, so shapes should be drawn straight away and not kept. If it is true, each call returns a new
+     * shape that can be kept and drawn every frame. A retained shape records its vertices the first time it is drawn,
+     * and draws the recording until one of its properties or the pixel size of the drawer changes, which is much faster
+     * for shapes that are the same from one frame to the next, such as the panels and frames of a user interface. It is
+     * recorded without culling, and skipped as a whole if the recording is outside the cull bounds.</p>
+     *
+     * @param drawer   the ShapeDrawer the shapes are drawn with
+     * @param retained whether each call returns a new shape that can be kept
+     */
+    public Pen(ShapeDrawer drawer, boolean retained) {
+        super(drawer, retained);
+        LINE = retained ? null : new BasicLine(drawer);
     }
 
     @Override
@@ -26,55 +41,48 @@ public class Pen extends Utensil {
     }
 
     public Line<?> line() {
-        LINE.reset(false);
-        return LINE;
+        BasicLine line = retained ? new BasicLine(drawer) : LINE;
+        line.setRetained(retained);
+        line.reset(false);
+        return line;
     }
 
     public PolyLine<?> polyLine() {
-        POLYLINE.reset(false);
-        POLYLINE.setOpen(true);
-        return POLYLINE;
+        return polyline(false).setOpen(true);
     }
 
     @Override
     public OutlinedPolygon<?> polygon() {
-        POLYLINE.reset(filled());
-        return POLYLINE;
+        return polyline(false);
     }
 
     @Override
     public OutlinedRegularPolygon<?> regularPolygon() {
-        REGULAR_POLYGON.reset(false);
-        return REGULAR_POLYGON;
+        return regularPolygon(false);
     }
 
     @Override
     public OutlinedCircle<?> circle() {
-        CIRCLE.reset(false);
-        return CIRCLE;
+        return circle(false);
     }
 
     @Override
     public OutlinedEllipse<?> ellipse() {
-        ELLIPSE.reset(false);
-        return ELLIPSE;
+        return ellipse(false);
     }
 
     @Override
     public OutlinedRectangle<?> rectangle() {
-        RECTANGLE.reset(false);
-        return RECTANGLE;
+        return rectangle(false);
     }
 
     public Arc<?> arc() {
-        ARC.reset(false);
-        return ARC;
+        return arc(false);
     }
 
     @Override
     public OutlinedTriangle<?> triangle() {
-        TRIANGLE.reset(false);
-        return TRIANGLE;
+        return triangle(false);
     }
 
 }
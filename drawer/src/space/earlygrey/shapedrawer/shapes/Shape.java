@@ -11,6 +11,15 @@ public interface Shape<T extends Shape> {
 
     void draw();
 
+    /**
+     * <p>Makes a retained shape, from a {@link Pen} or {@link Brush} created with {@code retained} set, calculate its
+     * vertices again the next time it is drawn. Changing a property of the shape does this automatically, but changing
+     * a setting of the ShapeDrawer other than its pixel size, such as its side estimator or mitre limit, doesn't. This
+     * does nothing for shapes that aren't retained, which is what the default implementation does.</p>
+     */
+    default void invalidate() {
+    }
+
     T color(Color color);
 
     interface FilledCircle<T extends FilledCircle<T>> extends Shape<T> {
@@ -11,6 +11,9 @@ import space.earlygrey.shapedrawer.shapes.Shape.FilledTriangle;
 abstract class Utensil {
 
    ShapeDrawer drawer;
+   final boolean retained;
+
+   //the shapes returned by a utensil that isn't retained, which are reset each time
    final BasicPolyline POLYLINE;
 
    final BasicRegularPolygon REGULAR_POLYGON;
@@ -25,47 +28,98 @@ abstract class Utensil {
 
    final BasicTriangle TRIANGLE;
 
-   Utensil(ShapeDrawer drawer) {
+   Utensil(ShapeDrawer drawer, boolean retained) {
       this.drawer = drawer;
-      POLYLINE = new BasicPolyline(drawer);
-      REGULAR_POLYGON = new BasicRegularPolygon(drawer);
-      CIRCLE = new BasicCircle(drawer);
-      ELLIPSE = new BasicEllipse(drawer);
-      RECTANGLE = new BasicRectangle(drawer);
-      ARC = new BasicArc(drawer);
-      TRIANGLE = new BasicTriangle(drawer);
+      this.retained = retained;
+      POLYLINE = retained ? null : new BasicPolyline(drawer);
+      REGULAR_POLYGON = retained ? null : new BasicRegularPolygon(drawer);
+      CIRCLE = retained ? null : new BasicCircle(drawer);
+      ELLIPSE = retained ? null : new BasicEllipse(drawer);
+      RECTANGLE = retained ? null : new BasicRectangle(drawer);
+      ARC = retained ? null : new BasicArc(drawer);
+      TRIANGLE = retained ? null : new BasicTriangle(drawer);
    }
 
    abstract boolean filled();
 
+   /**
+    * @return whether each shape returned is a new object that can be kept, see {@link Pen#Pen(ShapeDrawer, boolean)}
+    */
+   public boolean isRetained() {
+      return retained;
+   }
+
+   BasicPolyline polyline(boolean filled) {
+      BasicPolyline shape = retained ? new BasicPolyline(drawer) : POLYLINE;
+      shape.setRetained(retained);
+      shape.reset(filled);
+      return shape;
+   }
+
+   BasicRegularPolygon regularPolygon(boolean filled) {
+      BasicRegularPolygon shape = retained ? new BasicRegularPolygon(drawer) : REGULAR_POLYGON;
+      shape.setRetained(retained);
+      shape.reset(filled);
+      return shape;
+   }
+
+   BasicCircle circle(boolean filled) {
+      BasicCircle shape = retained ? new BasicCircle(drawer) : CIRCLE;
+      shape.setRetained(retained);
+      shape.reset(filled);
+      return shape;
+   }
+
+   BasicEllipse ellipse(boolean filled) {
+      BasicEllipse shape = retained ? new BasicEllipse(drawer) : ELLIPSE;
+      shape.setRetained(retained);
+      shape.reset(filled);
+      return shape;
+   }
+
+   BasicRectangle rectangle(boolean filled) {
+      BasicRectangle shape = retained ? new BasicRectangle(drawer) : RECTANGLE;
+      shape.setRetained(retained);
+      shape.reset(filled);
+      return shape;
+   }
+
+   BasicArc arc(boolean filled) {
+      BasicArc shape = retained ? new BasicArc(drawer) : ARC;
+      shape.setRetained(retained);
+      shape.reset(filled);
+      return shape;
+   }
+
+   BasicTriangle triangle(boolean filled) {
+      BasicTriangle shape = retained ? new BasicTriangle(drawer) : TRIANGLE;
+      shape.setRetained(retained);
+      shape.reset(filled);
+      return shape;
+   }
+
    public FilledPolygon<?> polygon() {
-      POLYLINE.reset(filled());
-      return POLYLINE;
+      return polyline(filled());
    }
 
    public FilledRegularPolygon<?> regularPolygon() {
-      REGULAR_POLYGON.reset(filled());
-      return REGULAR_POLYGON;
+      return regularPolygon(filled());
    }
 
    public FilledCircle<?> circle() {
-      CIRCLE.reset(filled());
-      return CIRCLE;
+      return circle(filled());
    }
 
    public FilledEllipse<?> ellipse() {
-      ELLIPSE.reset(filled());
-      return ELLIPSE;
+      return ellipse(filled());
    }
 
    public FilledRectangle<?> rectangle() {
-      RECTANGLE.reset(filled());
-      return RECTANGLE;
+      return rectangle(filled());
    }
 
    public FilledTriangle<?> triangle() {
-      TRIANGLE.reset(filled());
-      return TRIANGLE;
+      return triangle(filled());
    }
 
 }
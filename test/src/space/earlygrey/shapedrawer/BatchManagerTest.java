@@ -0,0 +1,115 @@
+package space.earlygrey.shapedrawer;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import space.earlygrey.shapedrawer.test.RecordingBatch;
+import space.earlygrey.shapedrawer.test.RecordingPolygonBatch;
+
+import java.util.Random;
+
+/**
+ * <p>Checks the vertex accounting of {@link BatchManager} and {@link PolygonBatchManager}: that
+ * {@link BatchManager#verticesRemaining()} stays between 0 and the capacity of the cache whatever is pushed or reserved,
+ * that reserving very large numbers of vertices or triangles doesn't overflow, and that a PolygonBatch is never sent
+ * more vertices than its short indices can address. It is in this package so that it can use the batch managers
+ * directly.</p>
+ */
+public class BatchManagerTest {
+
+    public static void main(String[] args) {
+        for (int capacity : new int[]{4, 5, 7, 100, BatchManager.DEFAULT_VERTEX_CAPACITY}) {
+            checkPushes(new BatchManager(new RecordingBatch(), new TextureRegion(), capacity));
+            checkPushes(new PolygonBatchManager(new RecordingPolygonBatch(), new TextureRegion(), capacity));
+        }
+        checkLargeReservations(new BatchManager(new RecordingBatch(), new TextureRegion()));
+        checkLargeReservations(new PolygonBatchManager(new RecordingPolygonBatch(), new TextureRegion()));
+        checkPolygonBatchLimit();
+        System.out.println("BatchManagerTest passed");
+    }
+
+    static void checkPushes(BatchManager manager) {
+        int capacity = manager.getVertexCapacity();
+        check(manager.verticesRemaining() == capacity, manager, "has " + manager.verticesRemaining() + " vertices remaining when empty");
+        Random random = new Random(1);
+        for (int i = 0; i < 10000; i++) {
+            switch (random.nextInt(3)) {
+                case 0:
+                    manager.ensureSpaceForQuad();
+                    manager.pushQuad();
+                    break;
+                case 1:
+                    manager.ensureSpaceForTriangle();
+                    manager.pushTriangle();
+                    break;
+                default:
+                    int vertices = random.nextInt(capacity + 1), triangles = random.nextInt(capacity + 1);
+                    manager.reserve(vertices, triangles);
+                    int required = Math.min(manager instanceof PolygonBatchManager ? Math.max(vertices, triangles) : Math.max(vertices, 4 * triangles), manager.getMaxVertexCapacity());
+                    check(manager.verticesRemaining() >= required, manager, "has " + manager.verticesRemaining() + " vertices remaining after reserving " + required);
+            }
+            int remaining = manager.verticesRemaining();
+            check(remaining >= 0 && remaining <= manager.getVertexCapacity(), manager, "has " + remaining + " vertices remaining with a capacity of " + manager.getVertexCapacity());
+        }
+    }
+
+    static void checkLargeReservations(BatchManager manager) {
+        manager.setMaxVertexCapacity(1000);
+        manager.reserve(Integer.MAX_VALUE, Integer.MAX_VALUE);
+        check(manager.getVertexCapacity() == 1000 && manager.verticesRemaining() == 1000, manager,
+                "reserved " + manager.verticesRemaining() + " vertices of a capacity of " + manager.getVertexCapacity() + " for the largest request, expected 1000");
+        manager.reserve(0, Integer.MAX_VALUE / 2);
+        check(manager.verticesRemaining() == 1000, manager, "reserved " + manager.verticesRemaining() + " vertices when the number of triangles overflows");
+        try {
+            manager.ensureSpace(Integer.MAX_VALUE);
+            throw new AssertionError(manager.getClass().getSimpleName() + " accepted more vertices than its maximum capacity");
+        } catch (IllegalStateException e) {
+            //expected
+        }
+        manager.setMaxVertexCapacity(Integer.MAX_VALUE);
+        check(manager.getMaxVertexCapacity() > 0 && (long) manager.getMaxVertexCapacity() * BatchManager.VERTEX_SIZE <= Integer.MAX_VALUE, manager,
+                "has a maximum capacity of " + manager.getMaxVertexCapacity() + " vertices, which doesn't fit in an array");
+    }
+
+    static void checkPolygonBatchLimit() {
+        try {
+            new ShapeDrawer(new RecordingPolygonBatch(), new TextureRegion(), new DefaultSideEstimator(), Short.MAX_VALUE + 1);
+            throw new AssertionError("A PolygonBatch drawer was created with more vertices than its indices can address");
+        } catch (IllegalArgumentException e) {
+            //expected
+        }
+
+        //a path long enough to need more vertices than a short can index, all in one shape
+        RecordingPolygonBatch batch = new RecordingPolygonBatch() {
+            @Override
+            public void draw(Texture texture, float[] polygonVertices, int verticesOffset, int verticesCount, short[] polygonTriangles, int trianglesOffset, int trianglesCount) {
+                int vertices = verticesCount / VERTEX_SIZE;
+                for (int i = trianglesOffset; i < trianglesOffset + trianglesCount; i++) {
+                    if (polygonTriangles[i] < 0 || polygonTriangles[i] >= vertices) {
+                        throw new AssertionError("A PolygonBatch was sent the index " + polygonTriangles[i] + " with " + vertices + " vertices");
+                    }
+                }
+                super.draw(texture, polygonVertices, verticesOffset, verticesCount, polygonTriangles, trianglesOffset, trianglesCount);
+            }
+        };
+        ShapeDrawer drawer = new ShapeDrawer(batch, new TextureRegion());
+        drawer.setPixelSize(1);
+        drawer.setMaxVertexCapacity(Integer.MAX_VALUE);
+        if (drawer.getMaxVertexCapacity() > Short.MAX_VALUE) {
+            throw new AssertionError("A PolygonBatch drawer has a maximum capacity of " + drawer.getMaxVertexCapacity() + " vertices");
+        }
+        float[] path = new float[2 * 20000];
+        for (int i = 0; i < path.length; i += 2) {
+            path[i] = i;
+            path[i + 1] = (i / 2) % 2 * 10;
+        }
+        drawer.path(path, 2, JoinType.SMOOTH, true);
+        drawer.filledPolygon(0, 0, 20000, 100, 100, 0);
+        if (batch.getVertexCount() < 2 * 20000) {
+            throw new AssertionError("Only " + batch.getVertexCount() + " vertices were drawn");
+        }
+    }
+
+    static void check(boolean condition, BatchManager manager, String message) {
+        if (!condition) throw new AssertionError(manager.getClass().getSimpleName() + " " + message);
+    }
+}
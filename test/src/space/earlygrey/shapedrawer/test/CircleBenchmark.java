@@ -0,0 +1,59 @@
+package space.earlygrey.shapedrawer.test;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import space.earlygrey.shapedrawer.ShapeDrawer;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+/**
+ * <p>Measures the time and memory allocated per frame drawing many outlined and filled circles with different radii,
+ * so that each frame needs tables of unit circle vertices for many different numbers of sides. Runs headless, drawing
+ * to a {@link RecordingBatch} that is cleared each frame.</p>
+ *
+ * <p>Arguments are the number of circles and the number of frames, which default to 2000 and 300. The first third of
+ * the frames are a warm up and aren't measured.</p>
+ */
+public class CircleBenchmark {
+
+    public static void main(String[] args) {
+        int circles = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int frames = args.length > 1 ? Integer.parseInt(args[1]) : 300;
+
+        RecordingBatch batch = new RecordingBatch();
+        ShapeDrawer drawer = new ShapeDrawer(batch, new TextureRegion());
+        drawer.setPixelSize(1);
+        Random random = new Random(1);
+        float[] x = new float[circles], y = new float[circles], radius = new float[circles];
+        for (int i = 0; i < circles; i++) {
+            x[i] = random.nextFloat() * 1000;
+            y[i] = random.nextFloat() * 1000;
+            radius[i] = 5 + random.nextFloat() * 1000;
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        int warmUp = frames / 3;
+        long startTime = 0, startBytes = 0;
+        for (int frame = 0; frame < frames; frame++) {
+            if (frame == warmUp) {
+                startTime = System.nanoTime();
+                startBytes = threads.getThreadAllocatedBytes(thread);
+            }
+            batch.begin();
+            for (int i = 0; i < circles; i++) {
+                if (i % 2 == 0) {
+                    drawer.circle(x[i], y[i], radius[i], 2);
+                } else {
+                    drawer.filledCircle(x[i], y[i], radius[i]);
+                }
+            }
+            batch.end();
+            batch.clear();
+        }
+        int measured = frames - warmUp;
+        double millis = (System.nanoTime() - startTime) / 1e6 / measured;
+        double kilobytes = (threads.getThreadAllocatedBytes(thread) - startBytes) / 1024.0 / measured;
+        System.out.println(String.format("%d circles: %.2f ms and %.1f KB allocated per frame", circles, millis, kilobytes));
+    }
+}
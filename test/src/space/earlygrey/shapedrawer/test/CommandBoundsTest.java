@@ -0,0 +1,127 @@
+package space.earlygrey.shapedrawer.test;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Rectangle;
+import space.earlygrey.shapedrawer.CapType;
+import space.earlygrey.shapedrawer.JoinType;
+import space.earlygrey.shapedrawer.ShapeCommandBuffer;
+import space.earlygrey.shapedrawer.ShapeDrawer;
+
+import java.util.Random;
+
+/**
+ * <p>Checks that every vertex drawn for each type of {@link ShapeCommandBuffer} command is inside the bounds from
+ * {@link ShapeCommandBuffer#getBounds(int, Rectangle)}, which culled drawing and ShapeScene rely on. The shapes include
+ * joins at sharp angles, whose mitres reach many half widths from the points, and are drawn with every cap type and
+ * with and without a mitre limit.</p>
+ */
+public class CommandBoundsTest {
+
+    static final int SHAPES = 3000;
+
+    public static void main(String[] args) {
+        ShapeCommandBuffer buffer = new ShapeCommandBuffer();
+        record(buffer);
+        for (float mitreLimit : new float[]{Float.POSITIVE_INFINITY, 4}) {
+            for (CapType capType : CapType.values()) {
+                RecordingBatch batch = new RecordingBatch();
+                ShapeDrawer drawer = new ShapeDrawer(batch, new TextureRegion());
+                drawer.setPixelSize(1);
+                drawer.setMitreLimit(mitreLimit);
+                drawer.setCapType(capType);
+                check(buffer, drawer, batch);
+            }
+        }
+        System.out.println("CommandBoundsTest passed");
+    }
+
+    static void record(ShapeCommandBuffer buffer) {
+        Random random = new Random(1);
+        JoinType[] joinTypes = JoinType.values();
+        for (int i = 0; i < SHAPES; i++) {
+            float x = random.nextFloat() * 500, y = random.nextFloat() * 500, size = 5 + random.nextFloat() * 100;
+            float lineWidth = 1 + random.nextFloat() * 20, rotation = random.nextFloat() * 6;
+            JoinType joinType = joinTypes[random.nextInt(joinTypes.length)];
+            switch (i % 16) {
+                case 0:
+                case 1:
+                    //zigzags, so that some joins are very sharp
+                    float[] path = new float[2 * (3 + random.nextInt(6))];
+                    for (int j = 0; j < path.length; j += 2) {
+                        path[j] = x + random.nextFloat() * size;
+                        path[j + 1] = y + (j / 2 % 2) * size * random.nextFloat();
+                    }
+                    if (i % 16 == 0) {
+                        buffer.path(path, 0, path.length, lineWidth, joinType, random.nextBoolean());
+                    } else {
+                        buffer.polygon(path, 0, path.length, lineWidth, joinType);
+                    }
+                    break;
+                case 2:
+                    buffer.triangle(x, y, x + size, y + random.nextFloat() * 10, x + random.nextFloat() * size, y + random.nextFloat() * 10, lineWidth, joinType);
+                    break;
+                case 3:
+                    buffer.rectangle(x, y, size, size * random.nextFloat(), lineWidth, rotation, joinType);
+                    break;
+                case 4:
+                    buffer.polygon(x, y, 3 + random.nextInt(6), size, size * (0.1f + random.nextFloat()), rotation, lineWidth, joinType);
+                    break;
+                case 5:
+                    buffer.ellipse(x, y, size, size * (0.1f + random.nextFloat()), rotation, lineWidth, joinType);
+                    break;
+                case 6:
+                    buffer.circle(x, y, size * random.nextFloat() + 1, lineWidth, joinType);
+                    break;
+                case 7:
+                    buffer.line(x, y, x + size * (random.nextFloat() - 0.5f), y + size * (random.nextFloat() - 0.5f), lineWidth, false);
+                    break;
+                case 8:
+                    buffer.arc(x, y, size * random.nextFloat() + 1, rotation, random.nextFloat() * 7, lineWidth, random.nextBoolean());
+                    break;
+                case 9:
+                    buffer.sector(x, y, size * random.nextFloat() + 1, rotation, random.nextFloat() * 7);
+                    break;
+                case 10:
+                    float[] polygon = new float[2 * (3 + random.nextInt(8))];
+                    for (int j = 0; j < polygon.length; j++) polygon[j] = (j % 2 == 0 ? x : y) + random.nextFloat() * size;
+                    buffer.filledPolygon(polygon, 0, polygon.length);
+                    break;
+                case 11:
+                    buffer.filledCircle(x, y, size * random.nextFloat());
+                    break;
+                case 12:
+                    buffer.filledEllipse(x, y, size, size * random.nextFloat(), rotation);
+                    break;
+                case 13:
+                    buffer.filledPolygon(x, y, 3 + random.nextInt(6), size, size * random.nextFloat(), rotation);
+                    break;
+                case 14:
+                    buffer.filledTriangle(x, y, x + size * random.nextFloat(), y + size * random.nextFloat(), x - size * random.nextFloat(), y + size);
+                    break;
+                default:
+                    buffer.filledRectangle(x, y, size, size * random.nextFloat(), rotation);
+            }
+        }
+    }
+
+    static void check(ShapeCommandBuffer buffer, ShapeDrawer drawer, RecordingBatch batch) {
+        Rectangle bounds = new Rectangle();
+        for (int i = 0; i < buffer.getCommandCount(); i++) {
+            batch.clear();
+            buffer.draw(drawer, i);
+            buffer.getBounds(i, bounds);
+            //rounding, which for the longest mitres is a little larger
+            float tolerance = 1e-5f * (1000 + Math.max(bounds.width, bounds.height));
+            float[] v = batch.vertices.items;
+            for (int j = 0; j < batch.vertices.size; j += RecordingBatch.VERTEX_SIZE) {
+                float x = v[j], y = v[j + 1];
+                if (!(x >= bounds.x - tolerance && x <= bounds.x + bounds.width + tolerance
+                        && y >= bounds.y - tolerance && y <= bounds.y + bounds.height + tolerance)) {
+                    throw new AssertionError("Command " + i + ", a " + buffer.getCommandType(i) + " drawn with a mitre limit of "
+                            + drawer.getMitreLimit() + " and " + drawer.getCapType() + " caps, has the vertex (" + x + ", " + y
+                            + ") outside its bounds " + bounds);
+                }
+            }
+        }
+    }
+}
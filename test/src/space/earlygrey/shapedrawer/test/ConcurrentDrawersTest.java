@@ -0,0 +1,137 @@
+package space.earlygrey.shapedrawer.test;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Interpolation;
+import space.earlygrey.shapedrawer.CapType;
+import space.earlygrey.shapedrawer.GraphDrawer;
+import space.earlygrey.shapedrawer.JoinType;
+import space.earlygrey.shapedrawer.ShapeDrawer;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * <p>Draws with several ShapeDrawers on separate threads at the same time, each into its own batch, and checks that
+ * every thread gets exactly the vertices it gets when drawing alone. Each thread draws a different scene, using every
+ * kind of shape, so that any scratch state shared between drawers would be overwritten by another thread. Both a Batch
+ * and a PolygonBatch are checked.</p>
+ */
+public class ConcurrentDrawersTest {
+
+    static final int THREADS = 8, ROUNDS = 20, SHAPES = 300;
+
+    public static void main(String[] args) throws Exception {
+        check(false);
+        check(true);
+        System.out.println("ConcurrentDrawersTest passed");
+    }
+
+    static void check(boolean polygonBatch) throws Exception {
+        float[][] expected = new float[THREADS][];
+        for (int t = 0; t < THREADS; t++) {
+            RecordingBatch batch = createBatch(polygonBatch);
+            drawScene(new ShapeDrawer(batch, new TextureRegion()), t);
+            expected[t] = batch.vertices.toArray();
+        }
+
+        CyclicBarrier barrier = new CyclicBarrier(THREADS);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            int scene = t;
+            threads[t] = new Thread(() -> {
+                try {
+                    RecordingBatch batch = createBatch(polygonBatch);
+                    ShapeDrawer drawer = new ShapeDrawer(batch, new TextureRegion());
+                    for (int round = 0; round < ROUNDS; round++) {
+                        barrier.await();
+                        batch.clear();
+                        drawScene(drawer, scene);
+                        if (!Arrays.equals(expected[scene], batch.vertices.toArray())) {
+                            throw new AssertionError("Thread " + scene + " drawing with a " + batch.getClass().getSimpleName()
+                                    + " in round " + round + " differs from drawing alone");
+                        }
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                    barrier.reset();
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (failure.get() instanceof AssertionError) throw (AssertionError) failure.get();
+        if (failure.get() != null) throw new AssertionError(failure.get());
+    }
+
+    static RecordingBatch createBatch(boolean polygonBatch) {
+        return polygonBatch ? new RecordingPolygonBatch() : new RecordingBatch();
+    }
+
+    static void drawScene(ShapeDrawer drawer, int scene) {
+        drawer.setPixelSize(1);
+        drawer.setColor(Color.WHITE);
+        Random random = new Random(scene);
+        GraphDrawer graphDrawer = new GraphDrawer(drawer);
+        JoinType[] joinTypes = JoinType.values();
+        for (int i = 0; i < SHAPES; i++) {
+            float x = random.nextFloat() * 500, y = random.nextFloat() * 500, size = 5 + random.nextFloat() * 100;
+            JoinType joinType = joinTypes[random.nextInt(joinTypes.length)];
+            drawer.setCapType(CapType.values()[random.nextInt(CapType.values().length)]);
+            switch (i % 12) {
+                case 0:
+                case 1:
+                    float[] path = new float[2 * (3 + random.nextInt(8))];
+                    for (int j = 0; j < path.length; j++) path[j] = random.nextFloat() * 500;
+                    if (i % 12 == 0) {
+                        drawer.path(path, 1 + random.nextFloat() * 10, joinType, random.nextBoolean());
+                    } else {
+                        drawer.path(path, 1 + random.nextFloat() * 10, joinType, random.nextBoolean(), new float[]{5 + random.nextFloat() * 20, 5}, random.nextFloat() * 10);
+                    }
+                    break;
+                case 2:
+                    drawer.polygon(x, y, 3 + random.nextInt(10), size, size * random.nextFloat(), random.nextFloat() * 6, 1 + random.nextFloat() * 5, joinType);
+                    break;
+                case 3:
+                    drawer.filledPolygon(x, y, 3 + random.nextInt(10), size, size * random.nextFloat(), random.nextFloat() * 6);
+                    break;
+                case 4:
+                    float[] polygon = new float[2 * (4 + random.nextInt(8))];
+                    for (int j = 0; j < polygon.length; j++) polygon[j] = random.nextFloat() * 200;
+                    drawer.filledPolygon(polygon);
+                    drawer.polygon(polygon, 1 + random.nextFloat() * 5, joinType);
+                    break;
+                case 5:
+                    drawer.ellipse(x, y, size, size * random.nextFloat() + 1, random.nextFloat() * 6, 1 + random.nextFloat() * 5, joinType);
+                    drawer.filledEllipse(x, y, size, size * random.nextFloat() + 1, random.nextFloat() * 6);
+                    break;
+                case 6:
+                    drawer.arc(x, y, size, random.nextFloat() * 6, random.nextFloat() * 6, 1 + random.nextFloat() * 5, joinType, 5 + random.nextInt(30));
+                    drawer.sector(x, y, size, random.nextFloat() * 6, random.nextFloat() * 6);
+                    break;
+                case 7:
+                    drawer.rectangle(x, y, size, size * random.nextFloat(), 1 + random.nextFloat() * 5, random.nextFloat() * 6, joinType);
+                    drawer.filledRectangle(x, y, size, size * random.nextFloat(), random.nextFloat() * 6);
+                    break;
+                case 8:
+                    drawer.triangle(x, y, x + size, y + random.nextFloat() * 20, x + random.nextFloat() * size, y + size, 1 + random.nextFloat() * 5, joinType, Color.WHITE.toFloatBits());
+                    drawer.filledTriangle(x, y, x + size, y, x, y + size);
+                    break;
+                case 9:
+                    drawer.line(x, y, x + size, y + size * random.nextFloat(), 1 + random.nextFloat() * 5);
+                    break;
+                case 10:
+                    drawer.circle(x, y, size, 1 + random.nextFloat() * 5, joinType);
+                    drawer.filledCircle(x, y, size * random.nextFloat());
+                    break;
+                default:
+                    graphDrawer.draw(Interpolation.pow2, x, y, size, size, joinType);
+            }
+        }
+    }
+}
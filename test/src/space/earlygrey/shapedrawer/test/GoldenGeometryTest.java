@@ -0,0 +1,238 @@
+package space.earlygrey.shapedrawer.test;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+import space.earlygrey.shapedrawer.JoinType;
+import space.earlygrey.shapedrawer.ShapeDrawer;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * <p>Checks the outlines of paths, polygons, ellipses, arcs, rectangles and triangles against golden geometry, which was
+ * recorded from the version of the library that calculated joins with trigonometry. The area covered by each shape is
+ * compared rather than its triangles, so that the shapes may be split into triangles differently. A difference is only
+ * reported where one covers a point by more than {@link #TOLERANCE} and the other doesn't come within it, which allows
+ * for rounding and for slivers narrower than half a pixel, which some shapes no longer draw. Both a Batch and a
+ * PolygonBatch are checked. Also checks that paths which turn back on themselves, or nearly do with a mitre limit set,
+ * give finite geometry close to the line.</p>
+ *
+ * <p>Runs headless from the assets directory. Passing "write" as an argument records the golden geometry again instead,
+ * which should only be done when a change to the geometry is intended.</p>
+ */
+public class GoldenGeometryTest {
+
+    static final String GOLDEN_FILE = "golden-geometry.txt";
+    //in pixels, which are 1 world unit here
+    static final float TOLERANCE = 0.25f, SAMPLE_SPACING = 0.5f;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0 && args[0].equals("write")) {
+            write(drawScene(new RecordingBatch()), GOLDEN_FILE);
+            System.out.println("Wrote " + new File(GOLDEN_FILE).getAbsolutePath());
+            return;
+        }
+        Array<FloatArray> golden = read(GOLDEN_FILE);
+        compare(golden, drawScene(new RecordingBatch()), "Batch");
+        compare(golden, drawScene(new RecordingPolygonBatch()), "PolygonBatch");
+        checkReversals(new RecordingBatch());
+        checkReversals(new RecordingPolygonBatch());
+        checkMitreLimit(new RecordingBatch());
+        checkMitreLimit(new RecordingPolygonBatch());
+        System.out.println("GoldenGeometryTest passed");
+    }
+
+    /**
+     * @return the positions of the triangles of each shape
+     */
+    static Array<FloatArray> drawScene(RecordingBatch batch) {
+        ShapeDrawer drawer = new ShapeDrawer(batch, new TextureRegion());
+        drawer.setPixelSize(1);
+        Array<FloatArray> shapes = new Array<>();
+        Random random = new Random(1);
+        JoinType[] joinTypes = {JoinType.NONE, JoinType.POINTY, JoinType.SMOOTH};
+        for (JoinType joinType : joinTypes) {
+            for (int k = 0; k < 6; k++) {
+                int n = 3 + random.nextInt(8);
+                float[] path = new float[2 * n];
+                for (int i = 0; i < path.length; i++) path[i] = random.nextFloat() * 500;
+                drawer.path(path, 1 + random.nextFloat() * 20, joinType, k % 2 == 0);
+                shapes.add(takeTriangles(batch));
+                drawer.polygon(100 + random.nextFloat() * 200, 100, 3 + random.nextInt(12), 20 + random.nextFloat() * 60, 15 + random.nextFloat() * 60, random.nextFloat() * 6, 2 + random.nextFloat() * 10, joinType);
+                shapes.add(takeTriangles(batch));
+                drawer.arc(300, 300, 20 + random.nextFloat() * 50, random.nextFloat() * 6, random.nextFloat() * 6, 2 + random.nextFloat() * 10, joinType, 5 + random.nextInt(20));
+                shapes.add(takeTriangles(batch));
+                drawer.ellipse(200, 200, 10 + random.nextFloat() * 40, 10 + random.nextFloat() * 40, random.nextFloat() * 6, 1 + random.nextFloat() * 8, joinType);
+                shapes.add(takeTriangles(batch));
+                drawer.rectangle(10, 10, 20 + random.nextFloat() * 100, 20 + random.nextFloat() * 50, 1 + random.nextFloat() * 8, random.nextFloat() * 6, joinType);
+                shapes.add(takeTriangles(batch));
+                drawer.triangle(0, 0, 60 + random.nextFloat() * 40, 10, 20 + random.nextFloat() * 20, 40 + random.nextFloat() * 40, 1 + random.nextFloat() * 8, joinType, Color.WHITE.toFloatBits());
+                shapes.add(takeTriangles(batch));
+            }
+        }
+        return shapes;
+    }
+
+    static FloatArray takeTriangles(RecordingBatch batch) {
+        FloatArray triangles = batch.getTrianglePositions(new FloatArray());
+        batch.clear();
+        return triangles;
+    }
+
+    static void write(Array<FloatArray> shapes, String file) throws IOException {
+        try (PrintWriter writer = new PrintWriter(file)) {
+            for (FloatArray triangles : shapes) {
+                writer.println("shape");
+                for (int i = 0; i < triangles.size; i += 6) {
+                    writer.println(String.format(Locale.ROOT, "%.2f %.2f %.2f %.2f %.2f %.2f", triangles.get(i), triangles.get(i + 1),
+                            triangles.get(i + 2), triangles.get(i + 3), triangles.get(i + 4), triangles.get(i + 5)));
+                }
+            }
+        }
+    }
+
+    static Array<FloatArray> read(String file) throws IOException {
+        Array<FloatArray> shapes = new Array<>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.equals("shape")) {
+                    shapes.add(new FloatArray());
+                    continue;
+                }
+                for (String value : line.split(" ")) {
+                    shapes.peek().add(Float.parseFloat(value));
+                }
+            }
+        }
+        return shapes;
+    }
+
+    static void compare(Array<FloatArray> golden, Array<FloatArray> shapes, String batchName) {
+        if (golden.size != shapes.size) {
+            throw new AssertionError(batchName + " drew " + shapes.size + " shapes, expected " + golden.size);
+        }
+        for (int i = 0; i < golden.size; i++) {
+            FloatArray expected = golden.get(i), actual = shapes.get(i);
+            float minX = Float.MAX_VALUE, minY = Float.MAX_VALUE, maxX = -Float.MAX_VALUE, maxY = -Float.MAX_VALUE;
+            for (FloatArray triangles : new FloatArray[]{expected, actual}) {
+                for (int j = 0; j < triangles.size; j += 2) {
+                    minX = Math.min(minX, triangles.get(j));
+                    minY = Math.min(minY, triangles.get(j + 1));
+                    maxX = Math.max(maxX, triangles.get(j));
+                    maxY = Math.max(maxY, triangles.get(j + 1));
+                }
+            }
+            if (minX > maxX) continue;
+            Coverage expectedCoverage = new Coverage(minX, minY, maxX, maxY, expected);
+            Coverage actualCoverage = new Coverage(minX, minY, maxX, maxY, actual);
+            for (int sample = 0; sample < expectedCoverage.inside.length; sample++) {
+                if ((expectedCoverage.inside[sample] && !actualCoverage.near[sample])
+                        || (actualCoverage.inside[sample] && !expectedCoverage.near[sample])) {
+                    float x = minX + (sample % expectedCoverage.columns) * SAMPLE_SPACING, y = minY + (sample / expectedCoverage.columns) * SAMPLE_SPACING;
+                    throw new AssertionError("Shape " + i + " drawn with a " + batchName + " differs from the golden geometry at (" + x + ", " + y + ")");
+                }
+            }
+        }
+    }
+
+    /**
+     * Which points on a grid are inside the triangles by more than {@link #TOLERANCE}, and which are within it.
+     */
+    static class Coverage {
+
+        final int columns, rows;
+        final boolean[] inside, near;
+
+        Coverage(float minX, float minY, float maxX, float maxY, FloatArray triangles) {
+            columns = (int) ((maxX - minX) / SAMPLE_SPACING) + 1;
+            rows = (int) ((maxY - minY) / SAMPLE_SPACING) + 1;
+            inside = new boolean[columns * rows];
+            near = new boolean[columns * rows];
+            float[] t = triangles.items;
+            for (int i = 0; i < triangles.size; i += 6) {
+                float x1 = t[i], y1 = t[i + 1], x2 = t[i + 2], y2 = t[i + 3], x3 = t[i + 4], y3 = t[i + 5];
+                float orientation = Math.signum((x2 - x1) * (y3 - y1) - (x3 - x1) * (y2 - y1));
+                int startColumn = Math.max(0, (int) ((Math.min(x1, Math.min(x2, x3)) - TOLERANCE - minX) / SAMPLE_SPACING));
+                int endColumn = Math.min(columns - 1, (int) Math.ceil((Math.max(x1, Math.max(x2, x3)) + TOLERANCE - minX) / SAMPLE_SPACING));
+                int startRow = Math.max(0, (int) ((Math.min(y1, Math.min(y2, y3)) - TOLERANCE - minY) / SAMPLE_SPACING));
+                int endRow = Math.min(rows - 1, (int) Math.ceil((Math.max(y1, Math.max(y2, y3)) + TOLERANCE - minY) / SAMPLE_SPACING));
+                for (int row = startRow; row <= endRow; row++) {
+                    float y = minY + row * SAMPLE_SPACING;
+                    for (int column = startColumn; column <= endColumn; column++) {
+                        float x = minX + column * SAMPLE_SPACING;
+                        float distance = Math.min(orientation * edgeDistance(x1, y1, x2, y2, x, y),
+                                Math.min(orientation * edgeDistance(x2, y2, x3, y3, x, y), orientation * edgeDistance(x3, y3, x1, y1, x, y)));
+                        int sample = row * columns + column;
+                        if (distance > TOLERANCE) inside[sample] = true;
+                        if (distance > -TOLERANCE) near[sample] = true;
+                    }
+                }
+            }
+        }
+
+        //the signed distance of (x, y) to the left of the line from (x1, y1) to (x2, y2)
+        static float edgeDistance(float x1, float y1, float x2, float y2, float x, float y) {
+            float dx = x2 - x1, dy = y2 - y1;
+            return (dx * (y - y1) - dy * (x - x1)) / (float) Math.sqrt(dx * dx + dy * dy);
+        }
+    }
+
+    //paths that turn back on themselves have no mitre, so the joins must not be placed far away or at infinity
+    static void checkReversals(RecordingBatch batch) {
+        ShapeDrawer drawer = new ShapeDrawer(batch, new TextureRegion());
+        drawer.setPixelSize(1);
+        float[][] paths = {{0, 0, 10, 0, 0, 0}, {0, 0, 10, 0, 0, 0, 10, 0}, {0, 0, 10, 0, 5, 0, 5, 5}};
+        for (JoinType joinType : JoinType.values()) {
+            for (float[] path : paths) {
+                for (boolean open : new boolean[]{true, false}) {
+                    batch.clear();
+                    drawer.path(path, 2, joinType, open);
+                    float[] v = batch.vertices.items;
+                    for (int i = 0; i < batch.vertices.size; i += RecordingBatch.VERTEX_SIZE) {
+                        float x = v[i], y = v[i + 1];
+                        if (!(x >= -4 && x <= 14 && y >= -4 && y <= 9)) {
+                            throw new AssertionError("Reversing " + joinType + (open ? " open" : " closed") + " path gave the vertex (" + x + ", " + y + ")");
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    //with a mitre limit, neither the inside nor the outside of a sharp join may be placed far from the line
+    static void checkMitreLimit(RecordingBatch batch) {
+        ShapeDrawer drawer = new ShapeDrawer(batch, new TextureRegion());
+        drawer.setPixelSize(1);
+        drawer.setMitreLimit(2);
+        float[][] paths = {{0, 0, 10, 0, 0, 0.01f}, {0, 0, 10, 0, 0, -0.01f}, {0, 0, 10, 0, 0, 0.01f, 10, 0.02f}};
+        for (JoinType joinType : JoinType.values()) {
+            for (float[] path : paths) {
+                for (boolean open : new boolean[]{true, false}) {
+                    batch.clear();
+                    drawer.path(path, 2, joinType, open);
+                    float[] v = batch.vertices.items;
+                    for (int i = 0; i < batch.vertices.size; i += RecordingBatch.VERTEX_SIZE) {
+                        float x = v[i], y = v[i + 1];
+                        if (!(x >= -3 && x <= 13 && y >= -3 && y <= 3)) {
+                            throw new AssertionError("Sharp " + joinType + (open ? " open" : " closed") + " path with a mitre limit of 2 gave the vertex (" + x + ", " + y + ")");
+                        }
+                    }
+                }
+            }
+        }
+        try {
+            drawer.setMitreLimit(0.5f);
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+        throw new AssertionError("A mitre limit below 1 was accepted");
+    }
+}
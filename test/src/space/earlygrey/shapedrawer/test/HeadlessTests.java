@@ -0,0 +1,21 @@
+package space.earlygrey.shapedrawer.test;
+
+import space.earlygrey.shapedrawer.BatchManagerTest;
+
+/**
+ * Runs the tests that check the output of a ShapeDrawer without a GL context, from the assets directory. Each test
+ * throws an {@link AssertionError} if it fails.
+ */
+public class HeadlessTests {
+
+    public static void main(String[] args) throws Exception {
+        GoldenGeometryTest.main(new String[0]);
+        ParallelTessellatorTest.main(new String[0]);
+        ConcurrentDrawersTest.main(new String[0]);
+        BatchManagerTest.main(new String[0]);
+        CommandBoundsTest.main(new String[0]);
+        ShapePipelineTest.main(new String[0]);
+        TriangulatorTest.main(new String[0]);
+        PolygonPackingTest.main(new String[0]);
+    }
+}
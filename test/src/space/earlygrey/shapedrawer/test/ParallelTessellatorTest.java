@@ -0,0 +1,102 @@
+package space.earlygrey.shapedrawer.test;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import space.earlygrey.shapedrawer.Drawing;
+import space.earlygrey.shapedrawer.JoinType;
+import space.earlygrey.shapedrawer.ParallelTessellator;
+import space.earlygrey.shapedrawer.ShapeDrawer;
+import space.earlygrey.shapedrawer.ShapeTask;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * <p>Checks that a {@link ParallelTessellator} sends the batch the same vertices as drawing the shapes one after another,
+ * including while the ShapeDrawer is recording, and that it can be used again after a task throws. Both a Batch and a
+ * PolygonBatch are checked.</p>
+ */
+public class ParallelTessellatorTest {
+
+    static final int SHAPES = 2000;
+
+    public static void main(String[] args) {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            check(new RecordingBatch(), new RecordingBatch(), pool);
+            check(new RecordingPolygonBatch(), new RecordingPolygonBatch(), pool);
+        } finally {
+            pool.shutdown();
+        }
+        System.out.println("ParallelTessellatorTest passed");
+    }
+
+    static void check(RecordingBatch serialBatch, RecordingBatch parallelBatch, ForkJoinPool pool) {
+        ShapeDrawer serial = new ShapeDrawer(serialBatch, new TextureRegion());
+        ShapeDrawer parallel = new ShapeDrawer(parallelBatch, new TextureRegion());
+        serial.setPixelSize(1);
+        parallel.setPixelSize(1);
+        ParallelTessellator tessellator = new ParallelTessellator(parallel, pool);
+        tessellator.setMinimumPerWorker(16);
+
+        for (int i = 0; i < SHAPES; i++) {
+            drawShape(serial, i);
+        }
+
+        tessellator.draw(ParallelTessellatorTest::drawShape, SHAPES);
+        compare(serialBatch, parallelBatch, "drawn");
+
+        parallelBatch.clear();
+        parallel.startRecording();
+        tessellator.draw(ParallelTessellatorTest::drawShape, SHAPES);
+        Drawing drawing = parallel.stopRecording();
+        if (parallelBatch.getVertexCount() > 0) {
+            throw new AssertionError("Shapes drawn while recording were sent to the batch");
+        }
+        drawing.draw();
+        compare(serialBatch, parallelBatch, "recorded");
+
+        parallelBatch.clear();
+        ShapeTask failing = (drawer, index) -> {
+            if (index == SHAPES / 2) throw new IllegalStateException("failed");
+            drawShape(drawer, index);
+        };
+        try {
+            tessellator.draw(failing, SHAPES);
+            throw new AssertionError("The exception thrown by the task was not thrown by the tessellator");
+        } catch (IllegalStateException e) {
+            //expected
+        }
+        parallelBatch.clear();
+        tessellator.draw(ParallelTessellatorTest::drawShape, SHAPES);
+        compare(serialBatch, parallelBatch, "drawn after a task threw");
+    }
+
+    static void drawShape(ShapeDrawer drawer, int index) {
+        Random random = new Random(index);
+        switch (index % 4) {
+            case 0:
+                float[] path = new float[2 * (3 + random.nextInt(6))];
+                for (int i = 0; i < path.length; i++) path[i] = random.nextFloat() * 500;
+                drawer.path(path, 1 + random.nextFloat() * 10, JoinType.values()[random.nextInt(4)], random.nextBoolean());
+                break;
+            case 1:
+                drawer.circle(random.nextFloat() * 500, random.nextFloat() * 500, 5 + random.nextFloat() * 100, 2);
+                break;
+            case 2:
+                drawer.filledEllipse(random.nextFloat() * 500, random.nextFloat() * 500, 5 + random.nextFloat() * 50, 5 + random.nextFloat() * 50, random.nextFloat());
+                break;
+            default:
+                drawer.filledPolygon(new float[]{0, 0, 50 + random.nextFloat() * 50, 10, 40, 70, 10, 40});
+        }
+    }
+
+    static void compare(RecordingBatch expected, RecordingBatch actual, String description) {
+        if (expected.vertices.size != actual.vertices.size
+                || !Arrays.equals(expected.vertices.toArray(), actual.vertices.toArray())
+                || !Arrays.equals(expected.triangles.toArray(), actual.triangles.toArray())) {
+            throw new AssertionError("Shapes " + description + " by a ParallelTessellator with a " + expected.getClass().getSimpleName()
+                    + " differ from drawing them one after another");
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package space.earlygrey.shapedrawer.test;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.FloatArray;
+import space.earlygrey.shapedrawer.DefaultSideEstimator;
+import space.earlygrey.shapedrawer.ShapeCommandBuffer;
+import space.earlygrey.shapedrawer.ShapeDrawer;
+
+import java.util.Random;
+
+/**
+ * <p>Checks that filled polygons drawn with a Batch, which pushes pairs of triangles that share an edge as one quad,
+ * cover the same area as their triangles, and use fewer vertices and draw calls than pushing each triangle as its own
+ * quad. Many convex and concave polygons are drawn together from a {@link ShapeCommandBuffer}, so the vertex cache fills
+ * up and is sent to the batch several times.</p>
+ */
+public class PolygonPackingTest {
+
+    static final int POLYGONS = 500, VERTEX_CAPACITY = 1000;
+
+    public static void main(String[] args) {
+        check(false);
+        check(true);
+        System.out.println("PolygonPackingTest passed");
+    }
+
+    static void check(boolean concave) {
+        Random random = new Random(concave ? 2 : 1);
+        ShapeCommandBuffer buffer = new ShapeCommandBuffer();
+        int triangles = 0;
+        double expectedArea = 0;
+        for (int i = 0; i < POLYGONS; i++) {
+            float[] polygon = createPolygon(random, concave);
+            buffer.filledPolygon(polygon, 0, polygon.length);
+            triangles += polygon.length / 2 - 2;
+            expectedArea += Math.abs(area(polygon));
+        }
+
+        RecordingBatch batch = new RecordingBatch();
+        ShapeDrawer drawer = new ShapeDrawer(batch, new TextureRegion(), new DefaultSideEstimator(), VERTEX_CAPACITY);
+        drawer.setMaxVertexCapacity(VERTEX_CAPACITY);
+        drawer.setPixelSize(1);
+        buffer.draw(drawer);
+
+        String name = concave ? "Concave polygons" : "Convex polygons";
+        FloatArray positions = batch.getTrianglePositions(new FloatArray());
+        double area = 0;
+        float[] p = positions.items;
+        for (int i = 0; i < positions.size; i += 6) {
+            area += Math.abs(((double) p[i + 2] - p[i]) * ((double) p[i + 5] - p[i + 1]) - ((double) p[i + 4] - p[i]) * ((double) p[i + 3] - p[i + 1])) / 2;
+        }
+        if (Math.abs(area - expectedArea) > 1e-4 * expectedArea) {
+            throw new AssertionError(name + " covered an area of " + area + ", expected " + expectedArea);
+        }
+
+        //pushing every triangle as a quad takes 4 vertices each, in at least this many draw calls
+        int unpackedVertices = 4 * triangles;
+        int unpackedDrawCalls = (unpackedVertices + VERTEX_CAPACITY - 1) / VERTEX_CAPACITY;
+        if (batch.getVertexCount() > 3 * triangles) {
+            throw new AssertionError(name + " used " + batch.getVertexCount() + " vertices for " + triangles
+                    + " triangles, expected at most " + 3 * triangles + " of the " + unpackedVertices + " without packing");
+        }
+        if (batch.drawCalls >= unpackedDrawCalls) {
+            throw new AssertionError(name + " took " + batch.drawCalls + " draw calls, expected fewer than the "
+                    + unpackedDrawCalls + " without packing");
+        }
+    }
+
+    /**
+     * @return a convex polygon with its vertices on a circle, or a star shape with its vertices at random distances from
+     * the centre, either of which may be clockwise
+     */
+    static float[] createPolygon(Random random, boolean concave) {
+        int n = 3 + random.nextInt(30);
+        float centreX = random.nextFloat() * 500, centreY = random.nextFloat() * 500, size = 10 + random.nextFloat() * 100;
+        boolean clockwise = random.nextBoolean();
+        float[] polygon = new float[2 * n];
+        for (int i = 0; i < n; i++) {
+            //less than pi between neighbouring vertices, so that the polygon is simple
+            float angle = (i + 0.5f * random.nextFloat()) * 6.2831855f / n;
+            if (clockwise) angle = -angle;
+            float radius = concave ? size * (0.2f + random.nextFloat()) : size;
+            polygon[2 * i] = centreX + radius * (float) Math.cos(angle);
+            polygon[2 * i + 1] = centreY + radius * (float) Math.sin(angle);
+        }
+        return polygon;
+    }
+
+    static double area(float[] polygon) {
+        double area = 0;
+        for (int i = 0, j = polygon.length - 2; i < polygon.length; j = i, i += 2) {
+            area += (double) polygon[j] * polygon[i + 1] - (double) polygon[i] * polygon[j + 1];
+        }
+        return area / 2;
+    }
+}
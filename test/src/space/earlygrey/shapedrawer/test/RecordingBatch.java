@@ -0,0 +1,231 @@
+package space.earlygrey.shapedrawer.test;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Affine2;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * A {@link Batch} that records the vertices it is given instead of drawing them, so that the output of a ShapeDrawer
+ * can be checked without a GL context. Each vertex is 5 floats, as in a SpriteBatch, and each quad is split into the
+ * same two triangles that a SpriteBatch draws. Only {@link #draw(Texture, float[], int, int)} is recorded.
+ */
+public class RecordingBatch implements Batch {
+
+    public static final int VERTEX_SIZE = 5;
+
+    public final FloatArray vertices = new FloatArray();
+    //three indices into vertices for each triangle
+    public final IntArray triangles = new IntArray();
+    public int drawCalls;
+
+    private final Color color = new Color(Color.WHITE);
+    private final Matrix4 projectionMatrix = new Matrix4(), transformMatrix = new Matrix4();
+    private boolean drawing, blending = true;
+
+    public void clear() {
+        vertices.clear();
+        triangles.clear();
+        drawCalls = 0;
+    }
+
+    public int getVertexCount() {
+        return vertices.size / VERTEX_SIZE;
+    }
+
+    /**
+     * @return the x-y coordinates of the three vertices of each triangle that has a non-zero area
+     */
+    public FloatArray getTrianglePositions(FloatArray out) {
+        float[] v = vertices.items;
+        int[] t = triangles.items;
+        for (int i = 0; i < triangles.size; i += 3) {
+            int a = t[i] * VERTEX_SIZE, b = t[i + 1] * VERTEX_SIZE, c = t[i + 2] * VERTEX_SIZE;
+            float area = (v[b] - v[a]) * (v[c + 1] - v[a + 1]) - (v[c] - v[a]) * (v[b + 1] - v[a + 1]);
+            if (area == 0) continue;
+            out.add(v[a], v[a + 1], v[b], v[b + 1]);
+            out.add(v[c], v[c + 1]);
+        }
+        return out;
+    }
+
+    @Override
+    public void draw(Texture texture, float[] spriteVertices, int offset, int count) {
+        drawCalls++;
+        int first = getVertexCount();
+        vertices.addAll(spriteVertices, offset, count);
+        for (int quad = first; quad < getVertexCount(); quad += 4) {
+            triangles.add(quad, quad + 1, quad + 2);
+            triangles.add(quad + 2, quad + 3, quad);
+        }
+    }
+
+    @Override
+    public void begin() {
+        drawing = true;
+    }
+
+    @Override
+    public void end() {
+        drawing = false;
+    }
+
+    @Override
+    public void setColor(Color tint) {
+        color.set(tint);
+    }
+
+    @Override
+    public void setColor(float r, float g, float b, float a) {
+        color.set(r, g, b, a);
+    }
+
+    @Override
+    public Color getColor() {
+        return color;
+    }
+
+    @Override
+    public void setPackedColor(float packedColor) {
+        Color.abgr8888ToColor(color, packedColor);
+    }
+
+    @Override
+    public float getPackedColor() {
+        return color.toFloatBits();
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y, float originX, float originY, float width, float height, float scaleX, float scaleY, float rotation, int srcX, int srcY, int srcWidth, int srcHeight, boolean flipX, boolean flipY) {
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y, float width, float height, int srcX, int srcY, int srcWidth, int srcHeight, boolean flipX, boolean flipY) {
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y, int srcX, int srcY, int srcWidth, int srcHeight) {
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y, float width, float height, float u, float v, float u2, float v2) {
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y) {
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y, float width, float height) {
+    }
+
+    @Override
+    public void draw(TextureRegion region, float x, float y) {
+    }
+
+    @Override
+    public void draw(TextureRegion region, float x, float y, float width, float height) {
+    }
+
+    @Override
+    public void draw(TextureRegion region, float x, float y, float originX, float originY, float width, float height, float scaleX, float scaleY, float rotation) {
+    }
+
+    @Override
+    public void draw(TextureRegion region, float x, float y, float originX, float originY, float width, float height, float scaleX, float scaleY, float rotation, boolean clockwise) {
+    }
+
+    @Override
+    public void draw(TextureRegion region, float width, float height, Affine2 transform) {
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void disableBlending() {
+        blending = false;
+    }
+
+    @Override
+    public void enableBlending() {
+        blending = true;
+    }
+
+    @Override
+    public void setBlendFunction(int srcFunc, int dstFunc) {
+    }
+
+    @Override
+    public void setBlendFunctionSeparate(int srcFuncColor, int dstFuncColor, int srcFuncAlpha, int dstFuncAlpha) {
+    }
+
+    @Override
+    public int getBlendSrcFunc() {
+        return 0;
+    }
+
+    @Override
+    public int getBlendDstFunc() {
+        return 0;
+    }
+
+    @Override
+    public int getBlendSrcFuncAlpha() {
+        return 0;
+    }
+
+    @Override
+    public int getBlendDstFuncAlpha() {
+        return 0;
+    }
+
+    @Override
+    public Matrix4 getProjectionMatrix() {
+        return projectionMatrix;
+    }
+
+    @Override
+    public Matrix4 getTransformMatrix() {
+        return transformMatrix;
+    }
+
+    @Override
+    public void setProjectionMatrix(Matrix4 projection) {
+        projectionMatrix.set(projection);
+    }
+
+    @Override
+    public void setTransformMatrix(Matrix4 transform) {
+        transformMatrix.set(transform);
+    }
+
+    @Override
+    public void setShader(ShaderProgram shader) {
+    }
+
+    @Override
+    public ShaderProgram getShader() {
+        return null;
+    }
+
+    @Override
+    public boolean isBlendingEnabled() {
+        return blending;
+    }
+
+    @Override
+    public boolean isDrawing() {
+        return drawing;
+    }
+
+    @Override
+    public void dispose() {
+    }
+}
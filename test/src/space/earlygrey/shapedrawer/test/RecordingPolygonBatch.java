@@ -0,0 +1,33 @@
+package space.earlygrey.shapedrawer.test;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.PolygonBatch;
+import com.badlogic.gdx.graphics.g2d.PolygonRegion;
+
+/**
+ * A {@link RecordingBatch} that is also a {@link PolygonBatch}, so that a ShapeDrawer sends it indexed triangles.
+ */
+public class RecordingPolygonBatch extends RecordingBatch implements PolygonBatch {
+
+    @Override
+    public void draw(Texture texture, float[] polygonVertices, int verticesOffset, int verticesCount, short[] polygonTriangles, int trianglesOffset, int trianglesCount) {
+        drawCalls++;
+        int first = getVertexCount();
+        vertices.addAll(polygonVertices, verticesOffset, verticesCount);
+        for (int i = trianglesOffset; i < trianglesOffset + trianglesCount; i++) {
+            triangles.add(first + polygonTriangles[i]);
+        }
+    }
+
+    @Override
+    public void draw(PolygonRegion region, float x, float y) {
+    }
+
+    @Override
+    public void draw(PolygonRegion region, float x, float y, float width, float height) {
+    }
+
+    @Override
+    public void draw(PolygonRegion region, float x, float y, float originX, float originY, float width, float height, float scaleX, float scaleY, float rotation) {
+    }
+}
@@ -0,0 +1,99 @@
+package space.earlygrey.shapedrawer.test;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import space.earlygrey.shapedrawer.JoinType;
+import space.earlygrey.shapedrawer.ShapeDrawer;
+import space.earlygrey.shapedrawer.ShapePipeline;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * <p>Records frames on one thread and draws them with a {@link ShapePipeline} on another, checking that every frame the
+ * consumer draws sends the batch exactly the vertices of one whole frame. Each frame is a single long path, so the
+ * producer spends most of its time part way through a frame, and drawing must not send any of it to the batch. Both a
+ * Batch and a PolygonBatch are checked.</p>
+ */
+public class ShapePipelineTest {
+
+    static final int FRAMES = 100, POINTS = 30000;
+
+    public static void main(String[] args) throws Exception {
+        check(false);
+        check(true);
+        System.out.println("ShapePipelineTest passed");
+    }
+
+    static void check(boolean polygonBatch) throws Exception {
+        RecordingBatch reference = createBatch(polygonBatch);
+        ShapeDrawer referenceDrawer = new ShapeDrawer(reference, new TextureRegion());
+        referenceDrawer.setPixelSize(1);
+        drawFrame(referenceDrawer);
+        float[] expected = reference.vertices.toArray();
+
+        RecordingBatch batch = createBatch(polygonBatch);
+        ShapeDrawer drawer = new ShapeDrawer(batch, new TextureRegion());
+        drawer.setPixelSize(1);
+        ShapePipeline pipeline = new ShapePipeline(drawer);
+        pipeline.getDrawer().setPixelSize(1);
+
+        AtomicBoolean finished = new AtomicBoolean(false);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread producer = new Thread(() -> {
+            try {
+                for (int frame = 0; frame < FRAMES && failure.get() == null; ) {
+                    if (!pipeline.begin()) {
+                        Thread.yield();
+                        continue;
+                    }
+                    drawFrame(pipeline.getDrawer());
+                    pipeline.end();
+                    frame++;
+                }
+            } catch (Throwable e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                finished.set(true);
+            }
+        });
+        producer.start();
+
+        int draws = 0;
+        try {
+            while (!finished.get() || pipeline.hasNewFrame()) {
+                batch.clear();
+                if (!pipeline.draw()) continue;
+                draws++;
+                if (batch.vertices.size != expected.length) {
+                    throw new AssertionError("Draw " + draws + " of a ShapePipeline with a " + batch.getClass().getSimpleName() + " sent "
+                            + batch.getVertexCount() + " vertices to the batch, expected the " + expected.length / RecordingBatch.VERTEX_SIZE
+                            + " of one frame");
+                }
+                if (!Arrays.equals(expected, batch.vertices.toArray())) {
+                    throw new AssertionError("Draw " + draws + " of a ShapePipeline with a " + batch.getClass().getSimpleName()
+                            + " sent vertices that differ from one frame");
+                }
+            }
+        } catch (Throwable e) {
+            failure.compareAndSet(null, e);
+        }
+        producer.join();
+        if (failure.get() instanceof AssertionError) throw (AssertionError) failure.get();
+        if (failure.get() != null) throw new AssertionError(failure.get());
+        if (draws == 0) throw new AssertionError("No frames were drawn");
+    }
+
+    static RecordingBatch createBatch(boolean polygonBatch) {
+        return polygonBatch ? new RecordingPolygonBatch() : new RecordingBatch();
+    }
+
+    static void drawFrame(ShapeDrawer drawer) {
+        float[] path = new float[2 * POINTS];
+        for (int i = 0; i < path.length; i += 2) {
+            path[i] = i;
+            path[i + 1] = (i / 2) % 2 * 10;
+        }
+        drawer.path(path, 2, JoinType.SMOOTH, true);
+    }
+}
@@ -0,0 +1,122 @@
+package space.earlygrey.shapedrawer.test;
+
+import space.earlygrey.shapedrawer.DefaultTriangulator;
+import space.earlygrey.shapedrawer.MonotoneTriangulator;
+import space.earlygrey.shapedrawer.Triangulator;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * <p>Triangulates many polygons of different sizes through one instance of each {@link Triangulator}, as a ShapeDrawer
+ * does, and checks that each has n - 2 triangles covering the area of the polygon, and that the result is the same as
+ * from a new instance, so nothing left over from one polygon affects the next. The polygons are simple, have duplicate
+ * consecutive vertices, have no area, or cross themselves, in which case only the latter is checked.</p>
+ */
+public class TriangulatorTest {
+
+    static final int POLYGONS = 5000;
+
+    public static void main(String[] args) {
+        check(new DefaultTriangulator(), DefaultTriangulator::new);
+        check(new MonotoneTriangulator(), MonotoneTriangulator::new);
+        System.out.println("TriangulatorTest passed");
+    }
+
+    interface Factory {
+        Triangulator create();
+    }
+
+    static void check(Triangulator triangulator, Factory factory) {
+        Random random = new Random(1);
+        String name = triangulator.getClass().getSimpleName();
+        for (int i = 0; i < POLYGONS; i++) {
+            int kind = i % 4;
+            float[] polygon = createPolygon(random, kind);
+            int offset = random.nextInt(3);
+            float[] vertices = new float[offset + polygon.length];
+            System.arraycopy(polygon, 0, vertices, offset, polygon.length);
+
+            short[] triangles;
+            try {
+                triangles = triangulator.computeTriangles(vertices, offset, polygon.length).toArray();
+            } catch (RuntimeException e) {
+                throw new AssertionError(name + " threw on polygon " + i + " with " + polygon.length / 2 + " vertices", e);
+            }
+            short[] fresh = factory.create().computeTriangles(vertices, offset, polygon.length).toArray();
+            if (!Arrays.equals(triangles, fresh)) {
+                throw new AssertionError(name + " triangulated polygon " + i + " differently to a new instance");
+            }
+            if (kind == 3) continue;
+
+            int n = polygon.length / 2;
+            if (triangles.length != 3 * (n - 2)) {
+                throw new AssertionError(name + " gave " + triangles.length / 3 + " triangles for polygon " + i + " with " + n + " vertices");
+            }
+            double area = 0, expected = Math.abs(area(polygon));
+            for (int t = 0; t < triangles.length; t += 3) {
+                if (triangles[t] < 0 || triangles[t] >= n || triangles[t + 1] < 0 || triangles[t + 1] >= n || triangles[t + 2] < 0 || triangles[t + 2] >= n) {
+                    throw new AssertionError(name + " gave the index " + triangles[t] + " for polygon " + i + " with " + n + " vertices");
+                }
+                area += Math.abs(triangleArea(polygon, triangles[t], triangles[t + 1], triangles[t + 2]));
+            }
+            if (Math.abs(area - expected) > 1e-3 * Math.max(1, expected)) {
+                throw new AssertionError(name + " gave triangles with an area of " + area + " for polygon " + i + " with an area of " + expected);
+            }
+        }
+    }
+
+    /**
+     * @param kind 0 for a simple polygon, 1 for a simple polygon with some vertices repeated, 2 for a polygon with no
+     * area and 3 for a polygon that may cross itself
+     */
+    static float[] createPolygon(Random random, int kind) {
+        //sizes vary up and down, so that a small polygon follows a large one
+        int n = 3 + random.nextInt(random.nextBoolean() ? 10 : 300);
+        float[] polygon = new float[2 * n];
+        switch (kind) {
+            case 0:
+            case 1:
+                //a star shape, with the vertices in order of angle around the centre and less than pi apart
+                boolean clockwise = random.nextBoolean();
+                for (int i = 0; i < n; i++) {
+                    float angle = (i + 0.5f * random.nextFloat()) * 6.2831855f / n, radius = 10 + random.nextFloat() * 100;
+                    if (clockwise) angle = -angle;
+                    polygon[2 * i] = 500 + radius * (float) Math.cos(angle);
+                    polygon[2 * i + 1] = 500 + radius * (float) Math.sin(angle);
+                }
+                if (kind == 1) {
+                    for (int i = 1; i < n; i++) {
+                        if (random.nextInt(4) == 0) {
+                            polygon[2 * i] = polygon[2 * i - 2];
+                            polygon[2 * i + 1] = polygon[2 * i - 1];
+                        }
+                    }
+                }
+                break;
+            case 2:
+                for (int i = 0; i < n; i++) {
+                    float t = random.nextFloat() * 100;
+                    polygon[2 * i] = t;
+                    polygon[2 * i + 1] = 2 * t;
+                }
+                break;
+            default:
+                for (int i = 0; i < polygon.length; i++) polygon[i] = random.nextFloat() * 100;
+        }
+        return polygon;
+    }
+
+    static double area(float[] polygon) {
+        double area = 0;
+        for (int i = 0, j = polygon.length - 2; i < polygon.length; j = i, i += 2) {
+            area += (double) polygon[j] * polygon[i + 1] - (double) polygon[i] * polygon[j + 1];
+        }
+        return area / 2;
+    }
+
+    static double triangleArea(float[] polygon, int a, int b, int c) {
+        double ax = polygon[2 * a], ay = polygon[2 * a + 1];
+        return ((polygon[2 * b] - ax) * (polygon[2 * c + 1] - ay) - (polygon[2 * b + 1] - ay) * (polygon[2 * c] - ax)) / 2;
+    }
+}